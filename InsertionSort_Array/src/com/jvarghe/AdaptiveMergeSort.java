@@ -0,0 +1,844 @@
+package com.jvarghe;
+
+import java.util.Comparator;
+
+
+// THE AdaptiveMergeSort CLASS
+//
+// InsertionSort is simple and stable, but O(n^2): every element may have to travel past
+// every element before it. That is fine for a few dozen elements and hopeless for a
+// million. This class is a STABLE, ADAPTIVE MERGE SORT in the style of TimSort, the sort
+// behind Java's own Arrays.sort() for objects. It is O(n log n) in the worst case, and
+// it gets faster the more order there already is in the input: an array that is already
+// sorted takes n - 1 comparisons and no moves at all.
+//
+// Real data is rarely random. It usually contains RUNS: stretches that are already in
+// ascending (or descending) order, such as batches that were each sorted before being
+// glued together. This sort finds those runs and merges them, instead of starting from
+// scratch:
+//
+//     1. FIND A RUN: Starting at the first unsorted element, keep going as long as the
+//        elements are in ascending order. A run in STRICTLY descending order is found
+//        the same way and then reversed. (Strictly, so that equal elements never get
+//        reversed, which would break stability.)
+//     2. EXTEND SHORT RUNS: Merging lots of tiny runs is wasteful, so a run shorter than
+//        MIN_RUN (somewhere between 16 and 32, see minRunLength()) is extended to
+//        MIN_RUN elements with InsertionSort's binary insertion sort, which is at its
+//        best on short, partially sorted stretches like this one.
+//     3. MERGE: Each run is pushed onto a stack. Whenever the lengths at the top of the
+//        stack stop shrinking quickly enough (see mergeCollapse()), neighbouring runs are
+//        merged. This keeps the merges balanced, like the levels of an ordinary merge
+//        sort, and keeps the stack short. At the end, everything left on the stack is
+//        merged into one run.
+//
+// THE MERGE: Merging two neighbouring runs only needs scratch space for the SHORTER of
+// the two, which is copied out, while the longer one is merged in place. So the scratch
+// array never needs more than n / 2 elements. Before copying anything, a binary search
+// skips the elements at the start of the first run and at the end of the second run
+// that are already in their final positions.
+//
+// GALLOPING: When one run keeps winning, say, seven times in a row, the merge stops
+// comparing element by element. It GALLOPS instead: it searches the winning run at
+// positions 1, 3, 7, 15 ... ahead, then binary searches the last gap, to find out how
+// many more elements it will win, and copies them all with one System.arraycopy(). On
+// runs that barely overlap, that turns a merge of thousands of elements into a handful
+// of comparisons. When galloping stops paying off, the merge goes back to one element at
+// a time, and it becomes a little harder to start galloping again (see minGallop).
+//
+// Both sortInAscendingOrder() for Comparable types and sort() with a Comparator are
+// provided. Like InsertionSort, both sort the array in place and return it.
+//
+// CREDITS: This is not an original design. TimSort was designed by Tim Peters for
+// Python's list.sort() in 2002, and is described in his notes, listsort.txt, in the
+// CPython sources. This class follows the Java implementation of it that Josh Bloch
+// wrote for Android (java.util.TimSort, Copyright (C) 2008 The Android Open Source
+// Project), and that OpenJDK adopted for Arrays.sort() in Java 7, closely: the run
+// finding, the stack rules, gallopLeft() and gallopRight(), mergeLow() and
+// mergeHigh() are ports of the methods of the same names, with the comments and the
+// names of the variables rewritten. The second check in mergeCollapse() is the fix
+// that de Gouw et al. proposed in "OpenJDK's java.utils.Collection.sort() is broken"
+// (2015), and that CPython adopted.
+//
+// LICENCE: The OpenJDK copy of TimSort is licensed under GPL version 2 only (with the
+// Classpath Exception), which can't be combined with this GPL version 3 project. The
+// Android original, however, is licensed under the Apache License, Version 2.0
+// (http://www.apache.org/licenses/LICENSE-2.0), which GPL version 3 code may include.
+// This class is a modified version of that original, used under that licence.
+public class AdaptiveMergeSort<T>
+{
+    // Arrays shorter than this are not worth merging at all. They are sorted with a
+    // single binary insertion sort, after finding the run at the start.
+    private static final int MIN_MERGE = 32;
+
+    // The number of wins in a row that switches a merge into galloping mode.
+    private static final int MIN_GALLOP = 7;
+
+    // The scratch array starts this small, and only grows if a merge needs more.
+    private static final int INITIAL_TEMP_LENGTH = 256;
+
+    // With the stack rules in mergeCollapse(), each run on the stack is longer than the
+    // two above it put together, so the run lengths grow at least as fast as the
+    // Fibonacci numbers. 49 runs are enough for any array that Java can create.
+    private static final int MAX_STACK_SIZE = 49;
+
+    private final T[] array;
+    private final Comparator<? super T> comparator;
+
+    // The number of elements being sorted, which caps the scratch array at half of it.
+    private final int length;
+
+    // THE SCRATCH ARRAY: temp[tempBase] to temp[tempBase + tempLength - 1]. It is either
+    // allocated here, or a slice of a larger array lent by the caller (see
+    // ParallelMergeSort).
+    private T[] temp;
+    private int tempBase;
+    private int tempLength;
+
+    private int minGallop = MIN_GALLOP;
+
+    // THE RUN STACK: runBase[i] is the index of the first element of run i, and
+    // runLength[i] its length. Run i + 1 always starts right after run i.
+    private final int[] runBase = new int[MAX_STACK_SIZE];
+    private final int[] runLength = new int[MAX_STACK_SIZE];
+    private int stackSize = 0;
+
+
+    // The constructor is private: every sort gets its own object, which holds the
+    // run stack and the scratch array while the sort is running. If the caller lends a
+    // work array that is long enough, it is used as the scratch array, and nothing is
+    // allocated.
+    @SuppressWarnings("unchecked")
+    private AdaptiveMergeSort(T[] array, int length, Comparator<? super T> comparator, T[] work, 
+                              int workBase, int workLength)
+    {
+        this.array = array;
+        this.length = length;
+        this.comparator = comparator;
+
+        int wantedLength = length < 2 * INITIAL_TEMP_LENGTH ? length >>> 1 : INITIAL_TEMP_LENGTH;
+        if(work == null || workLength < wantedLength)
+        {
+            this.temp = (T[]) new Object[wantedLength];
+            this.tempBase = 0;
+            this.tempLength = wantedLength;
+        }
+        else
+        {
+            this.temp = work;
+            this.tempBase = workBase;
+            this.tempLength = workLength;
+        }
+    }
+
+
+    // THE sortInAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order, as defined by the elements' compareTo().
+    public static <T extends Comparable<T>> T[] sortInAscendingOrder(T[] unsortedArray)
+            throws IllegalArgumentException
+    {
+        return sort(unsortedArray, Comparator.naturalOrder());
+    }
+
+
+    // THE sort() METHOD
+    //
+    // Sorts the array in the order given by the comparator. Elements that the comparator
+    // finds equal keep their original order.
+    public static <T> T[] sort(T[] unsortedArray, Comparator<? super T> comparator)
+            throws IllegalArgumentException
+    {
+        if(unsortedArray == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(comparator == null)
+        {
+            throw new IllegalArgumentException("A comparator must be provided!");
+        }
+
+        sortRange(unsortedArray, 0, unsortedArray.length, comparator, null, 0, 0);
+        return unsortedArray;
+    }
+
+
+    // THE sortRange() METHOD
+    //
+    // Sorts the elements from fromIndex (inclusive) to toIndex (exclusive). If 'work' is
+    // not null, work[workBase] to work[workBase + workLength - 1] may be used as the 
+    // scratch array. ParallelMergeSort uses this to sort its chunks without allocating.
+    static <T> void sortRange(T[] array, int fromIndex, int toIndex, Comparator<? super T> comparator,
+                              T[] work, int workBase, int workLength)
+    {
+        int remaining = toIndex - fromIndex;
+        if(remaining < 2)
+        {
+            return;
+        }
+
+        // A small range is one run plus a binary insertion sort for the rest.
+        if(remaining < MIN_MERGE)
+        {
+            int initialRunLength = findRunAndMakeAscending(array, fromIndex, toIndex, comparator);
+            InsertionSort.binarySort(array, fromIndex, toIndex, fromIndex + initialRunLength, comparator);
+            return;
+        }
+
+        AdaptiveMergeSort<T> sorter = new AdaptiveMergeSort<>(array, remaining, comparator, work, 
+                                                              workBase, workLength);
+        int minRun = minRunLength(remaining);
+        int low = fromIndex;
+
+        do
+        {
+            int runLength = findRunAndMakeAscending(array, low, toIndex, comparator);
+
+            // Extend a short run to minRun elements (or to the end of the range).
+            if(runLength < minRun)
+            {
+                int forcedLength = Math.min(remaining, minRun);
+                InsertionSort.binarySort(array, low, low + forcedLength, low + runLength, comparator);
+                runLength = forcedLength;
+            }
+
+            sorter.pushRun(low, runLength);
+            sorter.mergeCollapse();
+
+            low += runLength;
+            remaining -= runLength;
+        }
+        while(remaining != 0);
+
+        sorter.mergeForceCollapse();
+    }
+
+
+    // THE findRunAndMakeAscending() METHOD
+    //
+    // Returns the length of the run that starts at 'low' and ends before 'high' at the
+    // latest. A descending run is reversed, so that every run comes back ascending.
+    private static <T> int findRunAndMakeAscending(T[] array, int low, int high,
+                                                   Comparator<? super T> comparator)
+    {
+        int runHigh = low + 1;
+        if(runHigh == high)
+        {
+            return 1;
+        }
+
+        if(comparator.compare(array[runHigh++], array[low]) < 0)
+        {
+            // STRICTLY DESCENDING.
+            while(runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) < 0)
+            {
+                runHigh++;
+            }
+            reverseRange(array, low, runHigh);
+        }
+        else
+        {
+            // ASCENDING (equal elements are allowed).
+            while(runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0)
+            {
+                runHigh++;
+            }
+        }
+
+        return runHigh - low;
+    }
+
+
+    // THE reverseRange() METHOD
+    //
+    // Reverses the elements from low (inclusive) to high (exclusive).
+    private static void reverseRange(Object[] array, int low, int high)
+    {
+        high--;
+        while(low < high)
+        {
+            Object element = array[low];
+            array[low++] = array[high];
+            array[high--] = element;
+        }
+    }
+
+
+    // THE minRunLength() METHOD
+    //
+    // Picks the minimum run length for an array of the given length. Merges are most
+    // efficient when the number of runs is a power of two (or just under one), so that
+    // every merge joins two runs of about the same length. The result is the top 5 bits
+    // of the length, plus one if any of the bits below them is set. It lies between 16
+    // and 32, and dividing the length by it gives a power of two or a little less.
+    private static int minRunLength(int length)
+    {
+        int lowBits = 0;
+        while(length >= MIN_MERGE)
+        {
+            lowBits |= (length & 1);
+            length >>= 1;
+        }
+
+        return length + lowBits;
+    }
+
+
+    // THE pushRun() METHOD
+    private void pushRun(int base, int length)
+    {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+
+    // THE mergeCollapse() METHOD
+    //
+    // Merges runs at the top of the stack until these rules hold again for every three
+    // neighbouring runs X, Y and Z, from the top of the stack down (X is the newest):
+    //
+    //     1. Z > Y + X
+    //     2. Y > X
+    //
+    // Rule 1 also has to hold one level further down the stack, or it can break there
+    // without being noticed. When a rule is broken, Y is merged with whichever of X and
+    // Z is shorter. The rules keep the merges balanced and the stack short.
+    private void mergeCollapse()
+    {
+        while(stackSize > 1)
+        {
+            int n = stackSize - 2;
+
+            if((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+               || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]))
+            {
+                if(runLength[n - 1] < runLength[n + 1])
+                {
+                    n--;
+                }
+            }
+            else if(runLength[n] > runLength[n + 1])
+            {
+                // Both rules hold.
+                break;
+            }
+
+            mergeAt(n);
+        }
+    }
+
+
+    // THE mergeForceCollapse() METHOD
+    //
+    // At the end of the sort, merges every run left on the stack into one.
+    private void mergeForceCollapse()
+    {
+        while(stackSize > 1)
+        {
+            int n = stackSize - 2;
+            if(n > 0 && runLength[n - 1] < runLength[n + 1])
+            {
+                n--;
+            }
+
+            mergeAt(n);
+        }
+    }
+
+
+    // THE mergeAt() METHOD
+    //
+    // Merges run i with run i + 1. i must be the second or third run from the top.
+    private void mergeAt(int i)
+    {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        // The merged run takes the place of run i. If run i was third from the top,
+        // the top run moves down one place.
+        runLength[i] = length1 + length2;
+        if(i == stackSize - 3)
+        {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // The elements at the start of run 1 that are not greater than the first
+        // element of run 2 are already in their final positions. Skip them.
+        int skipped = gallopRight(array[base2], array, base1, length1, 0, comparator);
+        base1 += skipped;
+        length1 -= skipped;
+        if(length1 == 0)
+        {
+            return;
+        }
+
+        // Likewise, the elements at the end of run 2 that are not less than the last
+        // element of run 1 are already in place.
+        length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1, comparator);
+        if(length2 == 0)
+        {
+            return;
+        }
+
+        // Copy the shorter run out to the scratch array, and merge in place.
+        if(length1 <= length2)
+        {
+            mergeLow(base1, length1, base2, length2);
+        }
+        else
+        {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+
+    // THE gallopLeft() METHOD
+    //
+    // Finds where 'key' belongs in the sorted range a[base] to a[base + length - 1],
+    // placed BEFORE any elements equal to it. Returns k such that every element before
+    // a[base + k] is less than the key, and every element from a[base + k] on is greater
+    // than or equal to it.
+    //
+    // The search starts at a[base + hint] and GALLOPS: it looks 1, 3, 7, 15 ... elements
+    // away from the hint until it has jumped past the key, then binary searches the last
+    // gap. When the answer is close to the hint, that takes far fewer comparisons than a
+    // plain binary search over the whole range.
+    private static <T> int gallopLeft(T key, T[] a, int base, int length, int hint,
+                                      Comparator<? super T> comparator)
+    {
+        int lastOffset = 0;
+        int offset = 1;
+
+        if(comparator.compare(key, a[base + hint]) > 0)
+        {
+            // Gallop right, until a[base + hint + lastOffset] < key <= a[base + hint + offset].
+            int maxOffset = length - hint;
+            while(offset < maxOffset && comparator.compare(key, a[base + hint + offset]) > 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if(offset <= 0)
+                {
+                    // The offset overflowed.
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            lastOffset += hint;
+            offset += hint;
+        }
+        else
+        {
+            // Gallop left, until a[base + hint - offset] < key <= a[base + hint - lastOffset].
+            int maxOffset = hint + 1;
+            while(offset < maxOffset && comparator.compare(key, a[base + hint - offset]) <= 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if(offset <= 0)
+                {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            int oldLastOffset = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - oldLastOffset;
+        }
+
+        // Now a[base + lastOffset] < key <= a[base + offset], so the answer lies between
+        // lastOffset + 1 and offset. Binary search that gap.
+        lastOffset++;
+        while(lastOffset < offset)
+        {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+
+            if(comparator.compare(key, a[base + middle]) > 0)
+            {
+                lastOffset = middle + 1;
+            }
+            else
+            {
+                offset = middle;
+            }
+        }
+
+        return offset;
+    }
+
+
+    // THE gallopRight() METHOD
+    //
+    // Like gallopLeft(), but places the key AFTER any elements equal to it. Returns k
+    // such that every element before a[base + k] is less than or equal to the key, and
+    // every element from a[base + k] on is greater. Using the right one of the two in
+    // each place is what keeps the merge stable.
+    private static <T> int gallopRight(T key, T[] a, int base, int length, int hint,
+                                       Comparator<? super T> comparator)
+    {
+        int lastOffset = 0;
+        int offset = 1;
+
+        if(comparator.compare(key, a[base + hint]) < 0)
+        {
+            // Gallop left, until a[base + hint - offset] <= key < a[base + hint - lastOffset].
+            int maxOffset = hint + 1;
+            while(offset < maxOffset && comparator.compare(key, a[base + hint - offset]) < 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if(offset <= 0)
+                {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            int oldLastOffset = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - oldLastOffset;
+        }
+        else
+        {
+            // Gallop right, until a[base + hint + lastOffset] <= key < a[base + hint + offset].
+            int maxOffset = length - hint;
+            while(offset < maxOffset && comparator.compare(key, a[base + hint + offset]) >= 0)
+            {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if(offset <= 0)
+                {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset++;
+        while(lastOffset < offset)
+        {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+
+            if(comparator.compare(key, a[base + middle]) < 0)
+            {
+                offset = middle;
+            }
+            else
+            {
+                lastOffset = middle + 1;
+            }
+        }
+
+        return offset;
+    }
+
+
+    // THE mergeLow() METHOD
+    //
+    // Merges two neighbouring runs when the first one is the shorter. It is copied to
+    // the scratch array, and the merge fills the array from the left, where run 1 used
+    // to be. The merge can never overtake the unread part of run 2.
+    //
+    // mergeAt() has already made sure that the first element of run 2 belongs before
+    // all of run 1, and that the last element of run 1 belongs after all of run 2. So
+    // the first element out is from run 2, and the last one is from run 1.
+    private void mergeLow(int base1, int length1, int base2, int length2)
+    {
+        T[] a = array;
+        T[] scratch = ensureCapacity(length1);
+        System.arraycopy(a, base1, scratch, tempBase, length1);
+
+        int cursor1 = tempBase; // In the scratch array.
+        int cursor2 = base2;    // In the array.
+        int destination = base1;
+
+        a[destination++] = a[cursor2++];
+        if(--length2 == 0)
+        {
+            System.arraycopy(scratch, cursor1, a, destination, length1);
+            return;
+        }
+        if(length1 == 1)
+        {
+            System.arraycopy(a, cursor2, a, destination, length2);
+            a[destination + length2] = scratch[cursor1];
+            return;
+        }
+
+        Comparator<? super T> c = comparator;
+        int minGallop = this.minGallop;
+
+        outer:
+        while(true)
+        {
+            // ONE AT A TIME, counting how often each run has won in a row.
+            int wins1 = 0;
+            int wins2 = 0;
+
+            do
+            {
+                if(c.compare(a[cursor2], scratch[cursor1]) < 0)
+                {
+                    a[destination++] = a[cursor2++];
+                    wins2++;
+                    wins1 = 0;
+                    if(--length2 == 0)
+                    {
+                        break outer;
+                    }
+                }
+                else
+                {
+                    a[destination++] = scratch[cursor1++];
+                    wins1++;
+                    wins2 = 0;
+                    if(--length1 == 1)
+                    {
+                        break outer;
+                    }
+                }
+            }
+            while((wins1 | wins2) < minGallop);
+
+            // GALLOPING, for as long as it keeps winning MIN_GALLOP or more elements at a
+            // time. Each round makes it a little easier to start galloping next time.
+            do
+            {
+                wins1 = gallopRight(a[cursor2], scratch, cursor1, length1, 0, c);
+                if(wins1 != 0)
+                {
+                    System.arraycopy(scratch, cursor1, a, destination, wins1);
+                    destination += wins1;
+                    cursor1 += wins1;
+                    length1 -= wins1;
+                    if(length1 <= 1)
+                    {
+                        break outer;
+                    }
+                }
+                a[destination++] = a[cursor2++];
+                if(--length2 == 0)
+                {
+                    break outer;
+                }
+
+                wins2 = gallopLeft(scratch[cursor1], a, cursor2, length2, 0, c);
+                if(wins2 != 0)
+                {
+                    System.arraycopy(a, cursor2, a, destination, wins2);
+                    destination += wins2;
+                    cursor2 += wins2;
+                    length2 -= wins2;
+                    if(length2 == 0)
+                    {
+                        break outer;
+                    }
+                }
+                a[destination++] = scratch[cursor1++];
+                if(--length1 == 1)
+                {
+                    break outer;
+                }
+
+                minGallop--;
+            }
+            while(wins1 >= MIN_GALLOP | wins2 >= MIN_GALLOP);
+
+            // Galloping stopped paying off. Make it harder to start again.
+            if(minGallop < 0)
+            {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+
+        this.minGallop = Math.max(minGallop, 1);
+
+        if(length1 == 1)
+        {
+            // The last element of run 1 belongs after everything left in run 2.
+            System.arraycopy(a, cursor2, a, destination, length2);
+            a[destination + length2] = scratch[cursor1];
+        }
+        else if(length1 == 0)
+        {
+            throw new IllegalArgumentException("The comparison method violates its general contract!");
+        }
+        else
+        {
+            System.arraycopy(scratch, cursor1, a, destination, length1);
+        }
+    }
+
+
+    // THE mergeHigh() METHOD
+    //
+    // The mirror image of mergeLow(), for when the second run is the shorter. Run 2 is
+    // copied to the scratch array, and the merge fills the array from the RIGHT, taking
+    // the larger element each time.
+    private void mergeHigh(int base1, int length1, int base2, int length2)
+    {
+        T[] a = array;
+        T[] scratch = ensureCapacity(length2);
+        int scratchBase = tempBase;
+        System.arraycopy(a, base2, scratch, scratchBase, length2);
+
+        int cursor1 = base1 + length1 - 1;              // In the array.
+        int cursor2 = scratchBase + length2 - 1;        // In the scratch array.
+        int destination = base2 + length2 - 1;
+
+        a[destination--] = a[cursor1--];
+        if(--length1 == 0)
+        {
+            System.arraycopy(scratch, scratchBase, a, destination - (length2 - 1), length2);
+            return;
+        }
+        if(length2 == 1)
+        {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, destination + 1, length1);
+            a[destination] = scratch[cursor2];
+            return;
+        }
+
+        Comparator<? super T> c = comparator;
+        int minGallop = this.minGallop;
+
+        outer:
+        while(true)
+        {
+            int wins1 = 0;
+            int wins2 = 0;
+
+            do
+            {
+                if(c.compare(scratch[cursor2], a[cursor1]) < 0)
+                {
+                    a[destination--] = a[cursor1--];
+                    wins1++;
+                    wins2 = 0;
+                    if(--length1 == 0)
+                    {
+                        break outer;
+                    }
+                }
+                else
+                {
+                    a[destination--] = scratch[cursor2--];
+                    wins2++;
+                    wins1 = 0;
+                    if(--length2 == 1)
+                    {
+                        break outer;
+                    }
+                }
+            }
+            while((wins1 | wins2) < minGallop);
+
+            do
+            {
+                wins1 = length1 - gallopRight(scratch[cursor2], a, base1, length1, length1 - 1, c);
+                if(wins1 != 0)
+                {
+                    destination -= wins1;
+                    cursor1 -= wins1;
+                    length1 -= wins1;
+                    System.arraycopy(a, cursor1 + 1, a, destination + 1, wins1);
+                    if(length1 == 0)
+                    {
+                        break outer;
+                    }
+                }
+                a[destination--] = scratch[cursor2--];
+                if(--length2 == 1)
+                {
+                    break outer;
+                }
+
+                wins2 = length2 - gallopLeft(a[cursor1], scratch, scratchBase, length2, length2 - 1, c);
+                if(wins2 != 0)
+                {
+                    destination -= wins2;
+                    cursor2 -= wins2;
+                    length2 -= wins2;
+                    System.arraycopy(scratch, cursor2 + 1, a, destination + 1, wins2);
+                    if(length2 <= 1)
+                    {
+                        break outer;
+                    }
+                }
+                a[destination--] = a[cursor1--];
+                if(--length1 == 0)
+                {
+                    break outer;
+                }
+
+                minGallop--;
+            }
+            while(wins1 >= MIN_GALLOP | wins2 >= MIN_GALLOP);
+
+            if(minGallop < 0)
+            {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+
+        this.minGallop = Math.max(minGallop, 1);
+
+        if(length2 == 1)
+        {
+            // The first element of run 2 belongs before everything left in run 1.
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, destination + 1, length1);
+            a[destination] = scratch[cursor2];
+        }
+        else if(length2 == 0)
+        {
+            throw new IllegalArgumentException("The comparison method violates its general contract!");
+        }
+        else
+        {
+            System.arraycopy(scratch, scratchBase, a, destination - (length2 - 1), length2);
+        }
+    }
+
+
+    // THE ensureCapacity() METHOD
+    //
+    // Makes sure the scratch array holds at least minCapacity elements, and returns it.
+    // It grows to the next power of two, so that it does not have to grow again on the
+    // next merge, but never beyond half the range being sorted: the shorter of two runs
+    // can't be longer than that.
+    @SuppressWarnings("unchecked")
+    private T[] ensureCapacity(int minCapacity)
+    {
+        if(tempLength < minCapacity)
+        {
+            int newLength = Integer.highestOneBit(minCapacity) << 1;
+            if(newLength < 0)
+            {
+                // The shift overflowed.
+                newLength = minCapacity;
+            }
+
+            newLength = Math.max(minCapacity, Math.min(newLength, length >>> 1));
+            temp = (T[]) new Object[newLength];
+            tempBase = 0;
+            tempLength = newLength;
+        }
+
+        return temp;
+    }
+}
@@ -282,6 +282,8 @@
 
 package com.jvarghe;
 
+import java.util.Comparator;
+
 
 // The class heading says that the type parameter (T) must support comparison with other 
 // instances of its own type, via the Comparable interface (Comparable<T>).
@@ -327,6 +329,33 @@ public class InsertionSort<T extends Comparable<T>>
         return unsortedArray;
     }
 
+
+    // BINARY INSERTION SORT
+    //
+    // This does exactly the same job as sortInAscendingOrder(), and gives exactly the same
+    // result (it is stable too), but it finds each element's position in a different way.
+    // sortInAscendingOrder() walks backwards through the sorted set one element at a 
+    // time, calling compareTo() and swapping at every step. For types where compareTo()
+    // is expensive, such as long strings with a shared prefix or BigDecimal, those 
+    // comparisons are where all the time goes.
+    //
+    // The sorted set is, well, sorted, so the position can be found with a BINARY 
+    // SEARCH instead: O(log i) comparisons rather than up to i. Once the position is 
+    // known, every element between it and the end of the sorted set is moved one place 
+    // to the right with a single System.arraycopy() call, which is much faster than 
+    // moving them one by one. The number of moves stays the same, so the algorithm is 
+    // still O(n^2) overall, but far fewer of the slow comparisons are made. 
+    // InsertionSortBenchmark.java compares the two.
+    public static <T extends Comparable<T>> T[] binarySortInAscendingOrder(T[] unsortedArray) 
+    {
+        for (int i = 1; i < unsortedArray.length; i++) 
+        {
+            binaryInsert(i, unsortedArray);
+        }
+        
+        return unsortedArray;
+    }
+
     
     private static <T extends Comparable<T>> void sort(int i, T[] unsorted) 
     {
@@ -386,4 +415,87 @@ public class InsertionSort<T extends Comparable<T>>
             }
         }
     }
+
+
+    private static <T extends Comparable<T>> void binaryInsert(int i, T[] unsorted) 
+    {
+        T primeElement = unsorted[i];
+
+        // Partially ordered input often puts primeElement right where it already is: 
+        // after the whole sorted set. One comparison is enough to check that, and the 
+        // binary search can be skipped altogether.
+        if (primeElement.compareTo(unsorted[i - 1]) >= 0) 
+        {
+            return;
+        }
+
+        // THE BINARY SEARCH
+        //
+        // Find the first element in the sorted set (indices 0 to i - 1) that is GREATER 
+        // than primeElement. primeElement goes right before it. Elements that are equal to 
+        // primeElement stay in front of it, which keeps the sort stable. The element at 
+        // i - 1 was just found to be greater, so the search space is 0 to i - 1.
+        int low = 0;
+        int high = i - 1;
+
+        while (low < high) 
+        {
+            int middle = (low + high) >>> 1;
+
+            if (primeElement.compareTo(unsorted[middle]) < 0) 
+            {
+                high = middle;
+            } 
+            else 
+            {
+                low = middle + 1;
+            }
+        }
+
+        // Shift the rest of the sorted set one place to the right in one go, and drop 
+        // primeElement into the gap.
+        System.arraycopy(unsorted, low, unsorted, low + 1, i - low);
+        unsorted[low] = primeElement;
+    }
+
+
+    // THE binarySort() METHOD
+    //
+    // The same binary insertion, for a range of the array and in the order given by a 
+    // comparator. AdaptiveMergeSort uses it to turn short runs into longer ones. The 
+    // elements from fromIndex to sortedEnd - 1 must already be sorted; the elements from
+    // sortedEnd to toIndex - 1 are inserted into them one by one, in any order they
+    // happen to be in. (AdaptiveMergeSort passes the end of a run as sortedEnd, so only
+    // the FIRST element inserted is known to be one that broke the run.) The binary
+    // search only ever looks at the sorted elements before i, so it needs no check
+    // against the end of the array.
+    static <T> void binarySort(T[] array, int fromIndex, int toIndex, int sortedEnd, 
+                               Comparator<? super T> comparator) 
+    {
+        for (int i = sortedEnd; i < toIndex; i++) 
+        {
+            T primeElement = array[i];
+
+            // Find the first element in the sorted set that is greater than primeElement.
+            int low = fromIndex;
+            int high = i;
+
+            while (low < high) 
+            {
+                int middle = (low + high) >>> 1;
+
+                if (comparator.compare(primeElement, array[middle]) < 0) 
+                {
+                    high = middle;
+                } 
+                else 
+                {
+                    low = middle + 1;
+                }
+            }
+
+            System.arraycopy(array, low, array, low + 1, i - low);
+            array[low] = primeElement;
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package com.jvarghe;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+
+// THE INSERTION SORT BENCHMARK
+//
+// This program compares InsertionSort's two modes: sortInAscendingOrder(), which moves
+// each element into place one swap (and one compareTo() call) at a time, and
+// binarySortInAscendingOrder(), which finds the position with a binary search and moves
+// the block with System.arraycopy(). Binary insertion pays off when compareTo() is
+// expensive, so three element types are measured:
+//
+//     1. LONG STRINGS: 200 characters that all start with the same 190-character prefix,
+//        so every compareTo() has to read past the prefix before it finds a difference.
+//     2. BIGDECIMAL: numbers with 40 digits and different scales, which compareTo() has
+//        to line up before it can compare them.
+//     3. INTEGER: a cheap compareTo(), for comparison.
+//
+// Each type is sorted in two orders: RANDOM, and PARTIALLY ORDERED (sorted, then 5% of
+// the elements swapped with random partners), which is what most real batches look like.
+//
+// Command line arguments (optional):
+//
+//     1. The array size. Defaults to 5,000 elements. Insertion Sort is O(n^2), so keep
+//        it modest.
+//
+// Every run is repeated a few times and the best time is reported, which takes care of
+// most of the JIT warm-up.
+public class InsertionSortBenchmark
+{
+    private static final int DEFAULT_SIZE = 5_000;
+    private static final int REPETITIONS = 5;
+
+    private static final int STRING_PREFIX_LENGTH = 190;
+    private static final int STRING_SUFFIX_LENGTH = 10;
+    private static final double PERTURBED_FRACTION = 0.05;
+
+
+    public static void main(String[] args)
+    {
+        int size = DEFAULT_SIZE;
+        if(args.length > 0)
+        {
+            size = Integer.parseInt(args[0]);
+        }
+
+        Random rand = new Random(42);
+
+        char[] prefix = new char[STRING_PREFIX_LENGTH];
+        Arrays.fill(prefix, 'x');
+        String sharedPrefix = new String(prefix);
+
+        System.out.println(String.format("Insertion Sort of %,d elements", size));
+        System.out.println(String.format("    %-28s %14s %14s %9s", "INPUT", "SWAP (ms)", "BINARY (ms)",
+                "SPEEDUP"));
+
+        run("Long strings, random", randomArray(size, String[]::new,
+                () -> sharedPrefix + randomSuffix(rand)), false, rand);
+        run("Long strings, partial", randomArray(size, String[]::new,
+                () -> sharedPrefix + randomSuffix(rand)), true, rand);
+        run("BigDecimal, random", randomArray(size, BigDecimal[]::new,
+                () -> randomDecimal(rand)), false, rand);
+        run("BigDecimal, partial", randomArray(size, BigDecimal[]::new,
+                () -> randomDecimal(rand)), true, rand);
+        run("Integer, random", randomArray(size, Integer[]::new, rand::nextInt), false, rand);
+        run("Integer, partial", randomArray(size, Integer[]::new, rand::nextInt), true, rand);
+    }
+
+
+    // THE run() METHOD
+    //
+    // Times both modes on copies of the same input, checks that they agree, and prints
+    // one row. If partiallyOrdered is true, the input is sorted and then perturbed first.
+    private static <T extends Comparable<T>> void run(String label, T[] input, boolean partiallyOrdered,
+                                                      Random rand)
+    {
+        if(partiallyOrdered)
+        {
+            Arrays.sort(input);
+
+            int swaps = (int) (input.length * PERTURBED_FRACTION);
+            for(int swap = 0; swap < swaps; swap++)
+            {
+                int index1 = rand.nextInt(input.length);
+                int index2 = rand.nextInt(input.length);
+                T temp = input[index1];
+                input[index1] = input[index2];
+                input[index2] = temp;
+            }
+        }
+
+        T[] swapSorted = null;
+        T[] binarySorted = null;
+        long swapTime = Long.MAX_VALUE;
+        long binaryTime = Long.MAX_VALUE;
+
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            swapSorted = input.clone();
+            long startTime = System.nanoTime();
+            InsertionSort.sortInAscendingOrder(swapSorted);
+            swapTime = Math.min(swapTime, System.nanoTime() - startTime);
+
+            binarySorted = input.clone();
+            startTime = System.nanoTime();
+            InsertionSort.binarySortInAscendingOrder(binarySorted);
+            binaryTime = Math.min(binaryTime, System.nanoTime() - startTime);
+        }
+
+        // Both modes are stable, so they must put even equal elements in the same order.
+        for(int i = 0; i < input.length; i++)
+        {
+            if(swapSorted[i] != binarySorted[i])
+            {
+                throw new IllegalStateException("The two modes disagree at index " + i + "!");
+            }
+        }
+
+        System.out.println(String.format("    %-28s %14.2f %14.2f %8.2fx", label, swapTime / 1_000_000.0,
+                binaryTime / 1_000_000.0, (double) swapTime / binaryTime));
+    }
+
+
+    private static <T> T[] randomArray(int size, IntFunction<T[]> newArray, Supplier<T> element)
+    {
+        T[] array = newArray.apply(size);
+        for(int i = 0; i < size; i++)
+        {
+            array[i] = element.get();
+        }
+
+        return array;
+    }
+
+
+    private static String randomSuffix(Random rand)
+    {
+        char[] suffix = new char[STRING_SUFFIX_LENGTH];
+        for(int i = 0; i < suffix.length; i++)
+        {
+            suffix[i] = (char) ('a' + rand.nextInt(26));
+        }
+
+        return new String(suffix);
+    }
+
+
+    // A 40-digit number with 0 to 19 digits after the decimal point.
+    private static BigDecimal randomDecimal(Random rand)
+    {
+        StringBuilder digits = new StringBuilder();
+        digits.append(1 + rand.nextInt(9));
+        for(int i = 1; i < 40; i++)
+        {
+            digits.append(rand.nextInt(10));
+        }
+
+        return new BigDecimal(new BigInteger(digits.toString()), rand.nextInt(20));
+    }
+}
@@ -0,0 +1,337 @@
+package com.jvarghe;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+
+// THE KeySort CLASS
+//
+// Many classes work out their sort key inside compareTo(): they parse a string,
+// normalise it, or run it through a locale's collation rules. A sort calls compareTo()
+// about n log n times (InsertionSort up to n^2 / 2 times), and every call works out
+// BOTH keys all over again. For a million elements, that is some forty million keys
+// computed for only a million distinct elements.
+//
+// The methods of this class work out each element's key EXACTLY ONCE, and then sort the
+// keys instead of the elements. This trick is known as the DECORATE-SORT-UNDECORATE
+// idiom, or the Schwartzian transform:
+//
+//     1. DECORATE: Extract the keys into an array of their own: an int[], long[] or
+//        double[] for sortByIntKey(), sortByLongKey() and sortByDoubleKey(), so that
+//        nothing is boxed, or an Object[] for any other Comparable key, in sortByKey().
+//        For large arrays the keys are extracted in parallel, so the key extractor must
+//        be safe to call from several threads.
+//     2. SORT: Sort the keys together with each key's index in the original array.
+//     3. UNDECORATE: Move every element to where its key ended up.
+//
+// The primitive variants have names of their own, rather than being overloads of
+// sortByKey(): Java can't tell a ToIntFunction from a Function when it is given a lambda
+// like p -> p.age, so such a call would be ambiguous.
+//
+// All four methods are STABLE: elements with equal keys keep their original order.
+// The array is sorted in place and returned, just like InsertionSort does.
+public final class KeySort
+{
+    // Arrays with at least this many elements have their keys extracted in parallel.
+    private static final int PARALLEL_EXTRACTION_THRESHOLD = 1 << 16;
+
+    // RADIX SORT: long keys are sorted 8 bits (one byte) at a time.
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    // Ranges this short are sorted with an insertion sort in sortIndicesByKey().
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+
+    // This class only has static methods.
+    private KeySort() { }
+
+
+    // THE sortByIntKey() METHOD
+    //
+    // Each key is packed into the upper 32 bits of a long, and its index into the lower
+    // 32 bits. Sorting those longs sorts by key, and among equal keys by index, which is
+    // exactly a stable sort, and needs no second array at all.
+    public static <T> T[] sortByIntKey(T[] unsortedArray, ToIntFunction<? super T> keyExtractor)
+            throws IllegalArgumentException
+    {
+        validate(unsortedArray, keyExtractor);
+
+        int length = unsortedArray.length;
+        long[] packed = new long[length];
+        extract(length, i -> packed[i] = ((long) keyExtractor.applyAsInt(unsortedArray[i]) << 32) | i);
+
+        Arrays.sort(packed);
+
+        int[] order = new int[length];
+        for(int i = 0; i < length; i++)
+        {
+            order[i] = (int) packed[i];
+        }
+
+        return permute(unsortedArray, order);
+    }
+
+
+    // THE sortByLongKey() METHOD
+    //
+    // A long key leaves no room for the index, so the keys and the indices are kept in
+    // two arrays and sorted together with radixSort().
+    public static <T> T[] sortByLongKey(T[] unsortedArray, ToLongFunction<? super T> keyExtractor)
+            throws IllegalArgumentException
+    {
+        validate(unsortedArray, keyExtractor);
+
+        int length = unsortedArray.length;
+        long[] keys = new long[length];
+        extract(length, i -> keys[i] = keyExtractor.applyAsLong(unsortedArray[i]));
+
+        return permute(unsortedArray, radixSort(keys));
+    }
+
+
+    // THE sortByDoubleKey() METHOD
+    //
+    // The keys are sorted in the order of Double.compare(): -0.0 comes before 0.0, and
+    // NaN comes after everything else, even positive infinity.
+    //
+    // A double's bits can be turned into a long that sorts the same way: for a positive
+    // double, the bits already grow with the value. For a negative one, they grow as
+    // the value SHRINKS, so all the bits except the sign bit are flipped.
+    public static <T> T[] sortByDoubleKey(T[] unsortedArray, ToDoubleFunction<? super T> keyExtractor)
+            throws IllegalArgumentException
+    {
+        validate(unsortedArray, keyExtractor);
+
+        int length = unsortedArray.length;
+        long[] keys = new long[length];
+        extract(length, i ->
+        {
+            long bits = Double.doubleToLongBits(keyExtractor.applyAsDouble(unsortedArray[i]));
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        });
+
+        return permute(unsortedArray, radixSort(keys));
+    }
+
+
+    // THE sortByKey() METHOD
+    //
+    // Any other key is extracted into an Object[], and the indices are merge sorted by
+    // their keys' compareTo(). This still calls compareTo() n log n times, but on keys
+    // that have already been worked out.
+    public static <T, K extends Comparable<? super K>> T[] sortByKey(T[] unsortedArray,
+                                                                     Function<? super T, ? extends K> keyExtractor)
+            throws IllegalArgumentException
+    {
+        validate(unsortedArray, keyExtractor);
+
+        int length = unsortedArray.length;
+        Object[] keys = new Object[length];
+        extract(length, i -> keys[i] = keyExtractor.apply(unsortedArray[i]));
+
+        int[] order = new int[length];
+        for(int i = 0; i < length; i++)
+        {
+            order[i] = i;
+        }
+
+        sortIndicesByKey(order, new int[length], keys, 0, length);
+        return permute(unsortedArray, order);
+    }
+
+
+    // THE validate() METHOD
+    private static void validate(Object[] array, Object keyExtractor) throws IllegalArgumentException
+    {
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(keyExtractor == null)
+        {
+            throw new IllegalArgumentException("A key extractor must be provided!");
+        }
+    }
+
+
+    // THE extract() METHOD
+    //
+    // Calls 'extraction' once for every index from 0 to length - 1. Large arrays are
+    // spread over the threads of the common ForkJoinPool with a parallel stream.
+    private static void extract(int length, IntConsumer extraction)
+    {
+        if(length >= PARALLEL_EXTRACTION_THRESHOLD)
+        {
+            IntStream.range(0, length).parallel().forEach(extraction);
+        }
+        else
+        {
+            for(int i = 0; i < length; i++)
+            {
+                extraction.accept(i);
+            }
+        }
+    }
+
+
+    // THE permute() METHOD
+    //
+    // The UNDECORATE step: order[i] is the original index of the element that belongs
+    // at index i.
+    private static <T> T[] permute(T[] array, int[] order)
+    {
+        T[] original = array.clone();
+        for(int i = 0; i < order.length; i++)
+        {
+            array[i] = original[order[i]];
+        }
+
+        return array;
+    }
+
+
+    // THE radixSort() METHOD
+    //
+    // Sorts the keys (as signed longs) and returns the original index of each key, in
+    // sorted order. This is an LSD (least significant digit first) radix sort: the keys
+    // are sorted by their lowest byte, then by the next one, and so on up to the highest
+    // one. Each pass is a counting sort, which is stable, so after the last pass the keys
+    // are sorted by all eight bytes, and equal keys are still in index order.
+    //
+    // The counts for all eight passes are taken in a single read of the keys. A pass in
+    // which every key has the same byte would not move anything, so it is skipped: keys
+    // that fit in fewer bytes (small numbers, say) take fewer passes.
+    private static int[] radixSort(long[] keys)
+    {
+        int length = keys.length;
+        int[][] counts = new int[PASSES][RADIX];
+
+        // Flipping the sign bit makes the signed order of the keys match the unsigned
+        // order of their bytes.
+        for(int i = 0; i < length; i++)
+        {
+            long key = keys[i] ^ Long.MIN_VALUE;
+            keys[i] = key;
+            for(int pass = 0; pass < PASSES; pass++)
+            {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        int[] indices = new int[length];
+        for(int i = 0; i < length; i++)
+        {
+            indices[i] = i;
+        }
+
+        long[] scratchKeys = new long[length];
+        int[] scratchIndices = new int[length];
+
+        for(int pass = 0; pass < PASSES; pass++)
+        {
+            int[] count = counts[pass];
+            int shift = pass * RADIX_BITS;
+
+            if(length == 0 || count[(int) (keys[0] >>> shift) & (RADIX - 1)] == length)
+            {
+                continue;
+            }
+
+            // Turn the counts into the index where each byte value's keys start.
+            int start = 0;
+            for(int digit = 0; digit < RADIX; digit++)
+            {
+                int digitCount = count[digit];
+                count[digit] = start;
+                start += digitCount;
+            }
+
+            for(int i = 0; i < length; i++)
+            {
+                long key = keys[i];
+                int target = count[(int) (key >>> shift) & (RADIX - 1)]++;
+                scratchKeys[target] = key;
+                scratchIndices[target] = indices[i];
+            }
+
+            // Swap the arrays, instead of copying the keys back.
+            long[] swapKeys = keys;
+            keys = scratchKeys;
+            scratchKeys = swapKeys;
+
+            int[] swapIndices = indices;
+            indices = scratchIndices;
+            scratchIndices = swapIndices;
+        }
+
+        return indices;
+    }
+
+
+    // THE sortIndicesByKey() METHOD
+    //
+    // A stable merge sort of order[fromIndex] to order[toIndex - 1] by the keys they
+    // point to. Short ranges are insertion sorted, and two halves that are already in
+    // order are not merged at all.
+    @SuppressWarnings("unchecked")
+    private static void sortIndicesByKey(int[] order, int[] scratch, Object[] keys, int fromIndex,
+                                         int toIndex)
+    {
+        if(toIndex - fromIndex <= INSERTION_SORT_THRESHOLD)
+        {
+            for(int i = fromIndex + 1; i < toIndex; i++)
+            {
+                int index = order[i];
+                Comparable<Object> key = (Comparable<Object>) keys[index];
+
+                int j = i - 1;
+                while(j >= fromIndex && key.compareTo(keys[order[j]]) < 0)
+                {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int middleIndex = (fromIndex + toIndex) >>> 1;
+        sortIndicesByKey(order, scratch, keys, fromIndex, middleIndex);
+        sortIndicesByKey(order, scratch, keys, middleIndex, toIndex);
+
+        if(((Comparable<Object>) keys[order[middleIndex]]).compareTo(keys[order[middleIndex - 1]]) >= 0)
+        {
+            return;
+        }
+
+        // Copy the left half out, and merge it with the right half back into place.
+        // Taking from the left half unless the right one is strictly less keeps the sort
+        // stable.
+        int leftLength = middleIndex - fromIndex;
+        System.arraycopy(order, fromIndex, scratch, 0, leftLength);
+
+        int left = 0;
+        int right = middleIndex;
+        int target = fromIndex;
+        while(left < leftLength && right < toIndex)
+        {
+            if(((Comparable<Object>) keys[order[right]]).compareTo(keys[scratch[left]]) < 0)
+            {
+                order[target++] = order[right++];
+            }
+            else
+            {
+                order[target++] = scratch[left++];
+            }
+        }
+
+        System.arraycopy(scratch, left, order, target, leftLength - left);
+    }
+}
@@ -158,5 +158,38 @@ public class Main
         System.out.println();
 
         /* END OF DOUBLES ARRAY PROCESSING */
+
+
+
+        // KeySort sorts by a key that is worked out once per element. Here, the key is
+        // given by a lambda, and the method name says what type of key it returns.
+        String[] callSigns = {"Zulu", "Whiskey", "Mike", "Charlie", "Kilo",
+                              "Sierra", "Bravo", "Foxtrot", "X-Ray", "Echo"};
+
+        // Sort by the length of each word. Words of the same length keep their order.
+        KeySort.sortByIntKey(callSigns, word -> word.length());
+        System.out.println("Sorted by LENGTH (sortByIntKey):");
+        System.out.println(Arrays.toString(callSigns));
+        System.out.println();
+
+        // Sort by the sum of the character values, as a long.
+        KeySort.sortByLongKey(callSigns, word -> word.chars().asLongStream().sum());
+        System.out.println("Sorted by the SUM OF THE CHARACTERS (sortByLongKey):");
+        System.out.println(Arrays.toString(callSigns));
+        System.out.println();
+
+        // Sort the doubles by their distance from zero.
+        KeySort.sortByDoubleKey(doublesArray, number -> Math.abs(number));
+        System.out.println("Doubles sorted by ABSOLUTE VALUE (sortByDoubleKey):");
+        System.out.println(Arrays.toString(doublesArray));
+        System.out.println();
+
+        // Sort by the word spelled backwards, which is a String, so any Comparable key works.
+        KeySort.sortByKey(callSigns, word -> new StringBuilder(word).reverse().toString());
+        System.out.println("Sorted by the word SPELLED BACKWARDS (sortByKey):");
+        System.out.println(Arrays.toString(callSigns));
+        System.out.println();
+
+        /* END OF KEYSORT PROCESSING */
     }
 }
\ No newline at end of file
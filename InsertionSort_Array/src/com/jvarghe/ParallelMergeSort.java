@@ -0,0 +1,322 @@
+package com.jvarghe;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+// THE ParallelMergeSort CLASS
+//
+// AdaptiveMergeSort is stable and fast, but it only ever uses one thread. This class
+// sorts the same way on all the threads of a ForkJoinPool, and gives EXACTLY the same
+// result: a stable sort has only one correct answer, so even elements that compare
+// equal end up in the same order as with AdaptiveMergeSort.sort().
+//
+// It is an ordinary top-down merge sort, with two twists:
+//
+//     1. THE LEAVES: The array is split in halves, and the halves in halves, until the
+//        pieces (CHUNKS) are no longer than MIN_CHUNK_LENGTH elements. Each chunk is
+//        sorted on its own thread with AdaptiveMergeSort, so any runs in the input are
+//        still put to good use.
+//     2. THE MERGES: Merging two halves on a single thread would leave every other
+//        thread idle during the last, largest merges. So a merge is split as well: take
+//        the middle element of the longer half, and binary search the shorter half for
+//        where that element belongs. Everything to the left of those two positions
+//        merges into the left part of the output, and everything to the right into the
+//        right part, so the two smaller merges can run at the same time. They are split
+//        again in the same way, until they are no longer than MIN_MERGE_LENGTH.
+//
+// STABILITY: When the middle element comes from the LEFT half, the search in the right
+// half stops at the first element that is NOT LESS than it, so elements equal to it in
+// the right half stay on its right. When it comes from the RIGHT half, the search in
+// the left half stops at the first element that is GREATER than it, so elements equal
+// to it in the left half stay on its left. Either way, equal elements from the left half
+// still come first.
+//
+// MEMORY: The whole sort allocates a single scratch array as long as the input. The
+// levels of the merge sort take turns: one level merges from the array into the scratch
+// array, and the next one merges back, so nothing is copied just to move it back. While
+// a chunk is being sorted, AdaptiveMergeSort borrows the part of the scratch array that
+// lines up with the chunk, so it doesn't allocate either.
+//
+// Arrays no longer than MIN_CHUNK_LENGTH are not worth splitting, and are simply sorted
+// with AdaptiveMergeSort on the calling thread.
+public final class ParallelMergeSort
+{
+    // The longest chunk that is sorted by a single task.
+    private static final int MIN_CHUNK_LENGTH = 1 << 13;
+
+    // The longest merge that is done by a single task.
+    private static final int MIN_MERGE_LENGTH = 1 << 13;
+
+
+    // This class only has static methods.
+    private ParallelMergeSort() { }
+
+
+    // THE sortInAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order, as defined by the elements' compareTo(). The
+    // first overload runs on the JVM-wide common pool, the second one on the pool given
+    // by the caller.
+    public static <T extends Comparable<T>> T[] sortInAscendingOrder(T[] unsortedArray)
+            throws IllegalArgumentException
+    {
+        return sort(unsortedArray, Comparator.naturalOrder(), ForkJoinPool.commonPool());
+    }
+
+
+    public static <T extends Comparable<T>> T[] sortInAscendingOrder(T[] unsortedArray, ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        return sort(unsortedArray, Comparator.naturalOrder(), pool);
+    }
+
+
+    // THE sort() METHOD
+    //
+    // Sorts the array in the order given by the comparator. Elements that the comparator
+    // finds equal keep their original order. Like AdaptiveMergeSort, the array is sorted
+    // in place and returned.
+    public static <T> T[] sort(T[] unsortedArray, Comparator<? super T> comparator)
+            throws IllegalArgumentException
+    {
+        return sort(unsortedArray, comparator, ForkJoinPool.commonPool());
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public static <T> T[] sort(T[] unsortedArray, Comparator<? super T> comparator, ForkJoinPool pool)
+            throws IllegalArgumentException
+    {
+        if(unsortedArray == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(comparator == null)
+        {
+            throw new IllegalArgumentException("A comparator must be provided!");
+        }
+        if(pool == null)
+        {
+            throw new IllegalArgumentException("A ForkJoinPool must be provided!");
+        }
+
+        int length = unsortedArray.length;
+        if(length <= MIN_CHUNK_LENGTH)
+        {
+            return AdaptiveMergeSort.sort(unsortedArray, comparator);
+        }
+
+        T[] scratch = (T[]) new Object[length];
+        pool.invoke(new SortTask<>(unsortedArray, scratch, 0, length, false, comparator));
+        return unsortedArray;
+    }
+
+
+    // THE SortTask CLASS
+    //
+    // Sorts the elements from startIndex (inclusive) to endIndex (exclusive). If
+    // intoScratch is false, the sorted elements end up in the array; if it is true, they
+    // end up in the same positions of the scratch array instead. Both halves are sorted
+    // into the OTHER of the two arrays, so that the final merge lands where it should.
+    @SuppressWarnings("serial")
+    private static final class SortTask<T> extends RecursiveAction
+    {
+        private final T[] array;
+        private final T[] scratch;
+        private final int startIndex;
+        private final int endIndex;
+        private final boolean intoScratch;
+        private final Comparator<? super T> comparator;
+
+
+        // Constructor
+        SortTask(T[] array, T[] scratch, int startIndex, int endIndex, boolean intoScratch,
+                 Comparator<? super T> comparator)
+        {
+            this.array = array;
+            this.scratch = scratch;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.intoScratch = intoScratch;
+            this.comparator = comparator;
+        }
+
+
+        @Override
+        protected void compute()
+        {
+            int length = endIndex - startIndex;
+
+            // A chunk is sorted in the array, using its part of the scratch array as
+            // AdaptiveMergeSort's scratch space, and then copied over if need be.
+            if(length <= MIN_CHUNK_LENGTH)
+            {
+                AdaptiveMergeSort.sortRange(array, startIndex, endIndex, comparator, scratch, startIndex,
+                                            length);
+                if(intoScratch)
+                {
+                    System.arraycopy(array, startIndex, scratch, startIndex, length);
+                }
+                return;
+            }
+
+            int middleIndex = (startIndex + endIndex) >>> 1;
+            invokeAll(new SortTask<>(array, scratch, startIndex, middleIndex, !intoScratch, comparator),
+                      new SortTask<>(array, scratch, middleIndex, endIndex, !intoScratch, comparator));
+
+            T[] source = intoScratch ? array : scratch;
+            T[] destination = intoScratch ? scratch : array;
+            new MergeTask<>(source, destination, startIndex, middleIndex, middleIndex, endIndex,
+                            startIndex, comparator).compute();
+        }
+    }
+
+
+    // THE MergeTask CLASS
+    //
+    // Merges source[leftStart] to source[leftEnd - 1] with source[rightStart] to
+    // source[rightEnd - 1], both already sorted, into destination from
+    // destinationIndex on. Elements of the left range come first when they are equal.
+    @SuppressWarnings("serial")
+    private static final class MergeTask<T> extends RecursiveAction
+    {
+        private final T[] source;
+        private final T[] destination;
+        private final int leftStart;
+        private final int leftEnd;
+        private final int rightStart;
+        private final int rightEnd;
+        private final int destinationIndex;
+        private final Comparator<? super T> comparator;
+
+
+        // Constructor
+        MergeTask(T[] source, T[] destination, int leftStart, int leftEnd, int rightStart, int rightEnd,
+                  int destinationIndex, Comparator<? super T> comparator)
+        {
+            this.source = source;
+            this.destination = destination;
+            this.leftStart = leftStart;
+            this.leftEnd = leftEnd;
+            this.rightStart = rightStart;
+            this.rightEnd = rightEnd;
+            this.destinationIndex = destinationIndex;
+            this.comparator = comparator;
+        }
+
+
+        @Override
+        protected void compute()
+        {
+            int leftLength = leftEnd - leftStart;
+            int rightLength = rightEnd - rightStart;
+
+            if(leftLength + rightLength <= MIN_MERGE_LENGTH)
+            {
+                mergeSequentially();
+                return;
+            }
+
+            // SPLIT: The middle element of the longer range, and where it belongs in the
+            // shorter one. See the note on stability at the top of this class.
+            int leftSplit;
+            int rightSplit;
+            if(leftLength >= rightLength)
+            {
+                leftSplit = (leftStart + leftEnd) >>> 1;
+                rightSplit = lowerBound(source[leftSplit], rightStart, rightEnd);
+            }
+            else
+            {
+                rightSplit = (rightStart + rightEnd) >>> 1;
+                leftSplit = upperBound(source[rightSplit], leftStart, leftEnd);
+            }
+
+            int middleDestination = destinationIndex + (leftSplit - leftStart) + (rightSplit - rightStart);
+            invokeAll(new MergeTask<>(source, destination, leftStart, leftSplit, rightStart, rightSplit,
+                                      destinationIndex, comparator),
+                      new MergeTask<>(source, destination, leftSplit, leftEnd, rightSplit, rightEnd,
+                                      middleDestination, comparator));
+        }
+
+
+        private void mergeSequentially()
+        {
+            int left = leftStart;
+            int right = rightStart;
+            int target = destinationIndex;
+
+            // If the last element of the left range doesn't come after the first element
+            // of the right range, the two ranges are already in order.
+            if(left < leftEnd && right < rightEnd
+                    && comparator.compare(source[right], source[leftEnd - 1]) < 0)
+            {
+                while(left < leftEnd && right < rightEnd)
+                {
+                    // Take from the right range only if it is strictly less, so that
+                    // equal elements from the left range come first.
+                    if(comparator.compare(source[right], source[left]) < 0)
+                    {
+                        destination[target++] = source[right++];
+                    }
+                    else
+                    {
+                        destination[target++] = source[left++];
+                    }
+                }
+            }
+
+            System.arraycopy(source, left, destination, target, leftEnd - left);
+            target += leftEnd - left;
+            System.arraycopy(source, right, destination, target, rightEnd - right);
+        }
+
+
+        // The index of the first element from fromIndex to toIndex - 1 that is NOT LESS
+        // than the key, or toIndex if there is none.
+        private int lowerBound(T key, int fromIndex, int toIndex)
+        {
+            int low = fromIndex;
+            int high = toIndex;
+            while(low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if(comparator.compare(source[middle], key) < 0)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+
+        // The index of the first element from fromIndex to toIndex - 1 that is GREATER
+        // than the key, or toIndex if there is none.
+        private int upperBound(T key, int fromIndex, int toIndex)
+        {
+            int low = fromIndex;
+            int high = toIndex;
+            while(low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if(comparator.compare(source[middle], key) <= 0)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.jvarghe;
+
+
+// THE StringSort CLASS
+//
+// InsertionSort<String> (and every other comparison sort) calls String.compareTo(),
+// which compares two strings character by character from the very start. URLs and file
+// paths tend to share long prefixes ("https://www.example.com/products/..."), so most
+// of the work of each comparison goes into characters that are the same in both
+// strings, and that every previous comparison has already looked at.
+//
+// This class sorts strings ONE CHARACTER POSITION AT A TIME instead. Once the strings
+// of a group are known to agree on their first d characters, only character d is
+// looked at. That way, each character is examined roughly once, rather than once per
+// comparison. Three techniques work together:
+//
+//     1. THREE-WAY RADIX QUICKSORT (Bentley and Sedgewick): Pick a pivot character at
+//        position d, and partition the group into strings whose character d is LESS
+//        than, EQUAL to and GREATER than it. The "less" and "greater" parts are sorted
+//        the same way, still at position d. The "equal" part all agree on one more
+//        character, so it goes on to position d + 1.
+//     2. MSD RADIX SORT: A large group is split in a single pass instead: count how
+//        many strings have each character at position d, work out where each
+//        character's bucket starts, and copy every string into its bucket. Each bucket
+//        goes on to position d + 1. This is only done when the characters at position
+//        d span a narrow enough range, since there is one counter per character in the
+//        range. Latin-1 text (and the ASCII of most URLs) always qualifies; UTF-16 text
+//        from far-apart parts of Unicode uses quicksort instead. If every string in the
+//        group has the same character, the group's whole common prefix is measured in
+//        one go, and the sort skips straight past it.
+//     3. INSERTION SORT: Tiny groups are insertion sorted, comparing from position d
+//        on, as the characters before d are known to be equal.
+//
+// A string that is shorter than the position being looked at comes before any string
+// that has a character there, just as "car" comes before "cart". The result is the
+// same order as String.compareTo(), which compares the UTF-16 char values.
+//
+// The recursion goes into the SMALLER parts, and the largest one is handled by the
+// loop in sortRange(). So even strings with a very long common prefix don't make the
+// stack grow.
+public final class StringSort
+{
+    // Groups this small are insertion sorted.
+    private static final int INSERTION_SORT_THRESHOLD = 12;
+
+    // Groups at least this large are MSD radix sorted, if their characters allow it.
+    private static final int RADIX_SORT_THRESHOLD = 1 << 10;
+
+    // An MSD pass may always use this many counters. Larger groups may use up to half
+    // their size in counters.
+    private static final int MIN_RADIX = 256;
+
+    // charAt() returns this for a position past the end of a string, which sorts
+    // before every real character.
+    private static final int END_OF_STRING = -1;
+
+
+    private final String[] array;
+
+    // The MSD passes copy each group into this scratch array and back, and keep the
+    // character of each string at the current position in 'characters', so that
+    // every string is only visited once per pass. Both are as long as the array, and
+    // are only allocated if the array is large enough for an MSD pass.
+    private final String[] scratch;
+    private final int[] characters;
+
+
+    // The constructor is private: every sort gets its own object, which holds the
+    // array and the scratch space while the sort is running.
+    private StringSort(String[] array)
+    {
+        this.array = array;
+
+        if(array.length >= RADIX_SORT_THRESHOLD)
+        {
+            this.scratch = new String[array.length];
+            this.characters = new int[array.length];
+        }
+        else
+        {
+            this.scratch = null;
+            this.characters = null;
+        }
+    }
+
+
+    // THE sortInAscendingOrder() METHOD
+    //
+    // Sorts the array in place, in the same order as String.compareTo(), and returns it.
+    // The array must not contain null elements.
+    public static String[] sortInAscendingOrder(String[] unsortedArray) throws IllegalArgumentException
+    {
+        if(unsortedArray == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+
+        new StringSort(unsortedArray).sortRange(0, unsortedArray.length, 0);
+        return unsortedArray;
+    }
+
+
+    // THE sortRange() METHOD
+    //
+    // Sorts the strings from fromIndex (inclusive) to toIndex (exclusive), all of which
+    // have the same first 'depth' characters.
+    private void sortRange(int fromIndex, int toIndex, int depth)
+    {
+        while(toIndex - fromIndex > INSERTION_SORT_THRESHOLD)
+        {
+            int[] largest = null;
+            if(toIndex - fromIndex >= RADIX_SORT_THRESHOLD)
+            {
+                largest = radixPass(fromIndex, toIndex, depth);
+            }
+            if(largest == null)
+            {
+                largest = quicksortPass(fromIndex, toIndex, depth);
+            }
+
+            // An empty part, or a group of strings that have all ended, needs no more work.
+            if(largest[0] == largest[1])
+            {
+                return;
+            }
+
+            fromIndex = largest[0];
+            toIndex = largest[1];
+            depth = largest[2];
+        }
+
+        insertionSort(fromIndex, toIndex, depth);
+    }
+
+
+    // THE quicksortPass() METHOD
+    //
+    // Partitions the group three ways around a pivot character at position 'depth',
+    // sorts the two smaller parts with recursive calls, and returns the largest part as
+    // { fromIndex, toIndex, depth } for the caller to sort next.
+    private int[] quicksortPass(int fromIndex, int toIndex, int depth)
+    {
+        int pivot = medianOfThree(charAt(array[fromIndex], depth),
+                                  charAt(array[(fromIndex + toIndex) >>> 1], depth),
+                                  charAt(array[toIndex - 1], depth));
+
+        // INVARIANT: array[fromIndex .. less - 1] < pivot, array[less .. i - 1] == pivot,
+        // and array[greater + 1 .. toIndex - 1] > pivot.
+        int less = fromIndex;
+        int greater = toIndex - 1;
+        int i = fromIndex;
+        while(i <= greater)
+        {
+            int c = charAt(array[i], depth);
+            if(c < pivot)
+            {
+                swap(less++, i++);
+            }
+            else if(c > pivot)
+            {
+                swap(i, greater--);
+            }
+            else
+            {
+                i++;
+            }
+        }
+
+        // Strings that have all ended are equal, and need no more sorting.
+        int equalDepth = depth + 1;
+        int equalTo = pivot == END_OF_STRING ? less : greater + 1;
+
+        int[][] parts = { { fromIndex, less, depth }, { less, equalTo, equalDepth },
+                          { greater + 1, toIndex, depth } };
+        return recurseOnAllButLargest(parts);
+    }
+
+
+    // THE radixPass() METHOD
+    //
+    // Splits the group into one bucket per character at position 'depth', using a
+    // counting sort. The buckets are sorted with recursive calls, except for the largest
+    // one, which is returned as { fromIndex, toIndex, depth } for the caller to sort
+    // next. If the characters span too wide a range for the counters, nothing is done
+    // and null is returned.
+    private int[] radixPass(int fromIndex, int toIndex, int depth)
+    {
+        int length = toIndex - fromIndex;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            int c = charAt(array[i], depth);
+            characters[i] = c;
+            min = Math.min(min, c);
+            max = Math.max(max, c);
+        }
+
+        // ONE BUCKET: Every string has the same character here, and probably the same
+        // few after it as well (think of "https://www."). Rather than spend one pass per
+        // character on them, find the group's whole common prefix in a single pass.
+        if(min == max)
+        {
+            if(min == END_OF_STRING)
+            {
+                return new int[] { fromIndex, fromIndex, depth };
+            }
+
+            return new int[] { fromIndex, toIndex, depth + commonPrefixLength(fromIndex, toIndex, depth) };
+        }
+
+        int radix = max - min + 1;
+        if(radix > Math.max(MIN_RADIX, length >>> 1))
+        {
+            return null;
+        }
+
+        // COUNT, then turn the counts into the index where each bucket starts.
+        int[] starts = new int[radix + 1];
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            starts[characters[i] - min + 1]++;
+        }
+        for(int bucket = 0; bucket < radix; bucket++)
+        {
+            starts[bucket + 1] += starts[bucket];
+        }
+
+        // DISTRIBUTE into the scratch array, and copy back.
+        int[] next = starts.clone();
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            scratch[fromIndex + next[characters[i] - min]++] = array[i];
+        }
+        System.arraycopy(scratch, fromIndex, array, fromIndex, length);
+
+        // If 'min' is END_OF_STRING, the first bucket holds strings that have all ended.
+        // It is already sorted, so it is left out.
+        int firstBucket = min == END_OF_STRING ? 1 : 0;
+        int[][] buckets = new int[radix - firstBucket][];
+        for(int bucket = firstBucket; bucket < radix; bucket++)
+        {
+            buckets[bucket - firstBucket] = new int[] { fromIndex + starts[bucket], fromIndex + starts[bucket + 1],
+                                                        depth + 1 };
+        }
+
+        return recurseOnAllButLargest(buckets);
+    }
+
+
+    // THE commonPrefixLength() METHOD
+    //
+    // The number of characters, from position 'depth' on, that all the strings of the
+    // group have in common. Each string is compared with the first one, and the prefix
+    // can only get shorter, so most strings are only read as far as the prefix goes.
+    private int commonPrefixLength(int fromIndex, int toIndex, int depth)
+    {
+        String first = array[fromIndex];
+        int prefixEnd = first.length();
+
+        for(int i = fromIndex + 1; i < toIndex && prefixEnd > depth; i++)
+        {
+            String s = array[i];
+            int end = Math.min(prefixEnd, s.length());
+
+            int position = depth;
+            while(position < end && s.charAt(position) == first.charAt(position))
+            {
+                position++;
+            }
+            prefixEnd = position;
+        }
+
+        return prefixEnd - depth;
+    }
+
+
+    // THE recurseOnAllButLargest() METHOD
+    //
+    // Each part is { fromIndex, toIndex, depth }. Sorts every part except the largest
+    // with a recursive call, and returns the largest. Every recursive call is at most
+    // half the size of the group, so the recursion is never deeper than log2(n).
+    private int[] recurseOnAllButLargest(int[][] parts)
+    {
+        int[] largest = { 0, 0, 0 };
+        for(int[] part : parts)
+        {
+            if(part[1] - part[0] > largest[1] - largest[0])
+            {
+                largest = part;
+            }
+        }
+
+        for(int[] part : parts)
+        {
+            if(part != largest && part[1] - part[0] > 1)
+            {
+                sortRange(part[0], part[1], part[2]);
+            }
+        }
+
+        return largest;
+    }
+
+
+    // THE insertionSort() METHOD
+    //
+    // Insertion sorts a small group, comparing from position 'depth' on.
+    private void insertionSort(int fromIndex, int toIndex, int depth)
+    {
+        for(int i = fromIndex + 1; i < toIndex; i++)
+        {
+            String s = array[i];
+
+            int j = i - 1;
+            while(j >= fromIndex && compareFrom(s, array[j], depth) < 0)
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = s;
+        }
+    }
+
+
+    // THE compareFrom() METHOD
+    //
+    // Compares two strings like String.compareTo(), but starting at position 'depth'.
+    private static int compareFrom(String a, String b, int depth)
+    {
+        int length = Math.min(a.length(), b.length());
+        for(int i = depth; i < length; i++)
+        {
+            int difference = a.charAt(i) - b.charAt(i);
+            if(difference != 0)
+            {
+                return difference;
+            }
+        }
+
+        return a.length() - b.length();
+    }
+
+
+    // The character at position 'depth', or END_OF_STRING if the string is shorter.
+    private static int charAt(String s, int depth)
+    {
+        return depth < s.length() ? s.charAt(depth) : END_OF_STRING;
+    }
+
+
+    private static int medianOfThree(int a, int b, int c)
+    {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+
+    private void swap(int index1, int index2)
+    {
+        String temp = array[index1];
+        array[index1] = array[index2];
+        array[index2] = temp;
+    }
+}
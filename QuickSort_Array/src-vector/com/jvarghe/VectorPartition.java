@@ -0,0 +1,156 @@
+package com.jvarghe;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+
+// THE VectorPartition CLASS
+//
+// This class partitions an int array with SIMD (Single Instruction, Multiple Data)
+// instructions, through Java's Vector API. Ordinary code compares one int with the
+// pivot at a time. A SIMD instruction works on a whole VECTOR of ints at once: 8 of
+// them with AVX2, 16 with AVX-512. Each of those ints is called a LANE.
+//
+// For every vector of elements, the partitioning step goes like this:
+//
+//     1. COMPARE: Compare every lane with the pivot in one instruction. The result is
+//        a MASK: one true/false flag per lane, true where the element is less than
+//        the pivot.
+//     2. COMPRESS: Squeeze the lanes whose flag is true together, at the start of the
+//        vector, and store just those lanes at the end of the left partition. Then
+//        do the same with the lanes whose flag is false, and store them at the start
+//        of the right partition (which grows from the end of the array, towards the
+//        middle).
+//
+// Where can the elements be stored without overwriting elements that have not been
+// looked at yet? Before the loop starts, the first and last vectors of the range are
+// loaded and kept aside. That leaves a gap of one vector's worth of free space at
+// each end. Every time a vector is loaded, its slots become free too, and every time
+// a vector is stored, the same number of slots are used up. The loop always loads
+// from the side with less free space, which guarantees that both sides have room for
+// a full vector whenever it stores one. At the end, the last few elements and the two
+// vectors that were kept aside are stored into the gap that is left in the middle.
+//
+// The Vector API is an incubator module in JDK 21, so this class has to be compiled
+// and run with:
+//
+//     --add-modules jdk.incubator.vector
+//
+// That is why it sits in src-vector rather than src: the rest of the module compiles
+// without the flag, and this class is compiled on top of it (see the README). 
+// QuickSort_Integers only reaches it through a MethodHandle. When the class or the 
+// module is not there at run time, QuickSort_Integers never touches this class and 
+// uses PartitionScheme.BLOCK instead (see isVectorPartitionAvailable()).
+final class VectorPartition
+{
+    // The widest vector shape the CPU supports for ints.
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    // The smallest range partition() accepts: the two vectors that are kept aside,
+    // plus the element that the caller has moved out of the way as the pivot.
+    static final int MIN_SIZE = 2 * LANES + 1;
+
+
+    // This class only has static methods.
+    private VectorPartition() { }
+
+
+    // THE isSupported() METHOD
+    //
+    // Returns true if the CPU can compare at least four ints at once. On hardware with
+    // narrower (or no) vector units, the scalar code is faster.
+    static boolean isSupported()
+    {
+        return LANES >= 4;
+    }
+
+
+    // THE partition() METHOD
+    //
+    // Partitions the elements between startIndex and endIndex (inclusive) around
+    // pivotValue. Elements less than the pivot end up on the left, the others on the
+    // right. Returns the index of the first element of the right partition. The range
+    // must hold at least 2 * LANES elements.
+    static int partition(int[] array, int startIndex, int endIndex, int pivotValue)
+    {
+        int writeLeft = startIndex;
+        int writeRight = endIndex + 1;
+
+        // Keep the first and last vectors aside, to make room at both ends.
+        IntVector savedLeft = IntVector.fromArray(SPECIES, array, startIndex);
+        IntVector savedRight = IntVector.fromArray(SPECIES, array, writeRight - LANES);
+
+        int readLeft = startIndex + LANES;
+        int readRight = writeRight - LANES;
+
+        while(readRight - readLeft >= LANES)
+        {
+            // Load from the side with less free space.
+            IntVector vector;
+            if(readLeft - writeLeft <= writeRight - readRight)
+            {
+                vector = IntVector.fromArray(SPECIES, array, readLeft);
+                readLeft += LANES;
+            }
+            else
+            {
+                readRight -= LANES;
+                vector = IntVector.fromArray(SPECIES, array, readRight);
+            }
+
+            VectorMask<Integer> less = vector.lt(pivotValue);
+            writeLeft = storeLeft(array, vector, less, writeLeft);
+            writeRight = storeRight(array, vector, less.not(), writeRight);
+        }
+
+        // Fewer than LANES elements are left. Load them with a mask, so that the lanes
+        // past the end of the range are ignored. Nothing is left unread after this,
+        // so the remaining vectors can be stored in any order.
+        VectorMask<Integer> tailLanes = SPECIES.indexInRange(0, readRight - readLeft);
+        IntVector tail = IntVector.fromArray(SPECIES, array, readLeft, tailLanes);
+
+        VectorMask<Integer> tailLess = tail.lt(pivotValue).and(tailLanes);
+        writeLeft = storeLeft(array, tail, tailLess, writeLeft);
+        writeRight = storeRight(array, tail, tailLess.not().and(tailLanes), writeRight);
+
+        VectorMask<Integer> savedLeftLess = savedLeft.lt(pivotValue);
+        writeLeft = storeLeft(array, savedLeft, savedLeftLess, writeLeft);
+        writeRight = storeRight(array, savedLeft, savedLeftLess.not(), writeRight);
+
+        VectorMask<Integer> savedRightLess = savedRight.lt(pivotValue);
+        writeLeft = storeLeft(array, savedRight, savedRightLess, writeLeft);
+        storeRight(array, savedRight, savedRightLess.not(), writeRight);
+
+        return writeLeft;
+    }
+
+
+    // THE storeLeft() METHOD
+    //
+    // Compresses the selected lanes of the vector and appends them to the left
+    // partition. The store is masked, so only those lanes are written. Returns the new
+    // end of the left partition.
+    private static int storeLeft(int[] array, IntVector vector, VectorMask<Integer> lanes,
+                                 int writeLeft)
+    {
+        int count = lanes.trueCount();
+        vector.compress(lanes).intoArray(array, writeLeft, SPECIES.indexInRange(0, count));
+        return writeLeft + count;
+    }
+
+
+    // THE storeRight() METHOD
+    //
+    // Compresses the selected lanes of the vector and prepends them to the right
+    // partition. Returns the new start of the right partition.
+    private static int storeRight(int[] array, IntVector vector, VectorMask<Integer> lanes,
+                                  int writeRight)
+    {
+        int count = lanes.trueCount();
+        writeRight -= count;
+        vector.compress(lanes).intoArray(array, writeRight, SPECIES.indexInRange(0, count));
+        return writeRight;
+    }
+}
@@ -0,0 +1,284 @@
+package com.jvarghe;
+
+import java.lang.reflect.Array;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+
+// THE ArgSort_Integers CLASS
+//
+// Sometimes the data is stored as COLUMNS: several arrays of the same length, where
+// element i of every array belongs to the same record. Sorting just the key column
+// would break those records apart. What is needed instead is the SORTED PERMUTATION,
+// also known as the ARGSORT: an array of indices that says in which order the records
+// should be visited. For example:
+//
+//     keys:        { 30, 10, 20 }
+//     permutation: { 1, 2, 0 }      (keys[1] = 10, keys[2] = 20, keys[0] = 30)
+//
+// argSort() computes that permutation and leaves the key array untouched.
+// permuteColumns() then reorders any number of columns by it.
+//
+// A simple argsort sorts an array of indices and compares keys[index1] with
+// keys[index2]. Every comparison then jumps to a random place in the key array, which
+// is slow on large arrays, as almost every access misses the CPU cache. Instead, the
+// keys themselves are sorted, and each index travels along with its key, so that every
+// comparison reads the sort space directly. The sorting is done by QuickSort_Longs (see
+// QuickSort_Primitive.template), in one of two ways:
+//
+//     1. UNSTABLE: The keys are copied into a long[], and sorted with a PAYLOAD of
+//        indices: every time two keys are swapped, so are their indices. Records with
+//        equal keys may come out in any order, but the three-way partition can skip
+//        over all of them at once, which makes it fast when there are many duplicate
+//        keys.
+//     2. STABLE: A stable sort keeps records with equal keys in their original order.
+//        Each key and its index are PACKED into one long, with the key in the upper 32
+//        bits and the index in the lower 32 bits:
+//
+//            packed = (key << 32) | index
+//
+//        Comparing two of those longs compares the keys first, and the indices only
+//        when the keys are equal, so the smaller index always comes first. At the end,
+//        the lower 32 bits of each long are the permutation.
+//
+// Either way, argSort() needs 12 bytes per record: a long for the key, and an int for
+// the index.
+public class ArgSort_Integers
+{
+    private final QuickSort_Longs quickSort = new QuickSort_Longs();
+
+
+    // THE argSort() METHOD
+    //
+    // Returns the permutation that sorts 'keys' in ascending order, without changing
+    // 'keys'. Records with equal keys may come in any order.
+    public int[] argSort(int[] keys) throws IllegalArgumentException
+    {
+        return argSort(keys, false);
+    }
+
+
+    // THE argSort() METHOD, WITH A STABLE OPTION
+    //
+    // If stable is true, records with equal keys keep their original order (that is,
+    // they are ordered by their index).
+    public int[] argSort(int[] keys, boolean stable) throws IllegalArgumentException
+    {
+        // If it is a null array, throw an exception.
+        if(keys == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        // If the array has zero elements, throw an exception.
+        else if(keys.length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+
+        int[] permutation = new int[keys.length];
+
+        if(!stable)
+        {
+            long[] sortedKeys = new long[keys.length];
+            for(int i = 0; i < keys.length; i++)
+            {
+                sortedKeys[i] = keys[i];
+                permutation[i] = i;
+            }
+
+            quickSort.sortByAscendingOrder(sortedKeys, permutation, 0, keys.length);
+            return permutation;
+        }
+
+        // PACK: The key goes into the upper 32 bits. The index is never negative, so it
+        // can be OR'ed into the lower 32 bits without touching the key's sign.
+        long[] packed = new long[keys.length];
+        for(int i = 0; i < keys.length; i++)
+        {
+            packed[i] = ((long) keys[i] << 32) | i;
+        }
+
+        quickSort.sortByAscendingOrder(packed);
+
+        // UNPACK: The lower 32 bits are the index.
+        for(int i = 0; i < packed.length; i++)
+        {
+            permutation[i] = (int) packed[i];
+        }
+
+        return permutation;
+    }
+
+
+    // THE permuteColumns() METHOD
+    //
+    // Reorders every column by the permutation: afterwards, element i of each column is
+    // the element that was at permutation[i]. The columns can be arrays of any
+    // primitive type (int[], long[], double[] and so on), and must all be as long as
+    // the permutation. The caller's arrays hold the result. The permutation must hold
+    // every index from 0 to size - 1 exactly once (see validatePermutation()).
+    //
+    // ONE PASS PER COLUMN: Reading record permutation[i] from every column in the same
+    // loop would make a single pass over the permutation, but each step of it would
+    // then touch one random spot in EVERY column, and the type of every column would
+    // have to be checked for every record. Gathering one column at a time keeps only
+    // two arrays in play per loop, and each loop works on one primitive type directly.
+    // The permutation is read once per column, sequentially, which costs far less than
+    // the random reads from the column.
+    //
+    // MEMORY: This is NOT done in place. Each column is gathered into a scratch array
+    // (reading column[permutation[i]] jumps around the column, but the writes are 
+    // sequential), and then copied back. The scratch array is reused by every column
+    // of the same type, so the extra memory is one array per DISTINCT element type: for
+    // example, three int[] columns and a double[] column need an int[] and a double[] 
+    // of the same length, or 12 bytes per record. Permuting in place, by following the
+    // cycles of the permutation, would save that memory, but every write would then 
+    // jump around the column as well.
+    public void permuteColumns(int[] permutation, Object... columns) throws IllegalArgumentException
+    {
+        if(permutation == null)
+        {
+            throw new IllegalArgumentException("The permutation is null!");
+        }
+        if(columns == null)
+        {
+            throw new IllegalArgumentException("The columns are null!");
+        }
+
+        int size = permutation.length;
+
+        for(int c = 0; c < columns.length; c++)
+        {
+            Object column = columns[c];
+            if(column == null || !column.getClass().isArray()
+               || !column.getClass().getComponentType().isPrimitive())
+            {
+                throw new IllegalArgumentException("Column " + c + " is not a primitive array!");
+            }
+            if(Array.getLength(column) != size)
+            {
+                throw new IllegalArgumentException("Column " + c + " is not as long as the permutation!");
+            }
+        }
+
+        validatePermutation(permutation);
+
+        // One scratch array per element type, created the first time it is needed.
+        Map<Class<?>, Object> scratchArrays = new HashMap<>();
+
+        for(Object column : columns)
+        {
+            Object scratch = scratchArrays.computeIfAbsent(column.getClass().getComponentType(),
+                                                           type -> Array.newInstance(type, size));
+
+            gather(column, scratch, permutation);
+            System.arraycopy(scratch, 0, column, 0, size);
+        }
+    }
+
+
+    // THE validatePermutation() METHOD
+    //
+    // Checks that the permutation holds every index from 0 to length - 1 exactly once.
+    // An index that appears twice would copy the same record into two places, and lose
+    // another record from every column, without any error at all.
+    private static void validatePermutation(int[] permutation) throws IllegalArgumentException
+    {
+        BitSet seen = new BitSet(permutation.length);
+        for(int i = 0; i < permutation.length; i++)
+        {
+            int index = permutation[i];
+            if(index < 0 || index >= permutation.length)
+            {
+                throw new IllegalArgumentException("permutation[" + i + "] = " + index + " is out of range!");
+            }
+            if(seen.get(index))
+            {
+                throw new IllegalArgumentException("permutation[" + i + "] = " + index + " is a duplicate!");
+            }
+            seen.set(index);
+        }
+    }
+
+
+    // THE gather() METHOD
+    //
+    // Sets destination[i] = source[permutation[i]] for every i. There is one loop per
+    // primitive type, so that each of them works on the primitive array directly.
+    private static void gather(Object source, Object destination, int[] permutation)
+    {
+        if(source instanceof int[])
+        {
+            int[] from = (int[]) source;
+            int[] to = (int[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof long[])
+        {
+            long[] from = (long[]) source;
+            long[] to = (long[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof double[])
+        {
+            double[] from = (double[]) source;
+            double[] to = (double[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof float[])
+        {
+            float[] from = (float[]) source;
+            float[] to = (float[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof short[])
+        {
+            short[] from = (short[]) source;
+            short[] to = (short[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof char[])
+        {
+            char[] from = (char[]) source;
+            char[] to = (char[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else if(source instanceof byte[])
+        {
+            byte[] from = (byte[]) source;
+            byte[] to = (byte[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+        else
+        {
+            boolean[] from = (boolean[]) source;
+            boolean[] to = (boolean[]) destination;
+            for(int i = 0; i < permutation.length; i++)
+            {
+                to[i] = from[permutation[i]];
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.jvarghe;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+// THE BigIntArray CLASS
+//
+// A Java array is indexed with an int, so it can never hold more than about 2^31 (2.1
+// billion) elements. That limit applies to QuickSort_Integers and to
+// BinarySearch_Integers as well, as both of them work on int[] arrays.
+//
+// A BigIntArray is an array of ints that is indexed with a LONG. Behind the scenes, the
+// elements are split into CHUNKS: ordinary int[] arrays of CHUNK_SIZE (2^27) elements
+// each. Element i lives in chunk (i / CHUNK_SIZE), at position (i % CHUNK_SIZE). Because
+// CHUNK_SIZE is a power of two, both of those are a single shift or mask. Only the
+// last chunk can be shorter than CHUNK_SIZE.
+//
+// 10 billion ints take 40 GB, which fits in the heap of a 128 GB machine, as long as the
+// JVM is allowed to use it (for example, with -Xmx48g).
+//
+// SORTING: sortByAscendingOrder() is a long-indexed version of QuickSort_Integers'
+// introsort (three-way partition, depth limit with Heap Sort, smaller partition first).
+// As the partitions shrink, each one ends up inside a single chunk. From then on, it is
+// just a range of an ordinary int[], so it is sorted directly with
+// QuickSort_Integers.introSortByAscendingOrder(), with no copying at all. Only the
+// few partitioning passes at the top, over partitions that span several chunks, have
+// to go through the slower get() and set(). So that is all this class does itself:
+// the long-indexed partitioning loop, and Heap Sort as the fallback for partitions 
+// that are too big to copy. parallelSortByAscendingOrder() does the
+// same work with a ForkJoinPool: after each partitioning pass, the two sides are
+// sorted at the same time.
+//
+// SEARCHING: binarySearch() works like BinarySearch_Integers.findValue(), with long
+// indices.
+//
+// For data that lives off the heap, OffHeapSort sorts and searches MemorySegments with
+// long indices as well.
+public class BigIntArray
+{
+    private static final int CHUNK_BITS = 27;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Partitions this small that still span two chunks are copied into a small int[]
+    // and sorted there (see sortAcrossChunks()).
+    private static final int SMALL_RANGE_THRESHOLD = 16;
+
+    private final int[][] chunks;
+    private final long length;
+
+    // Sorts the ranges that fit inside one chunk. QuickSort_Integers keeps no state 
+    // between sorts, so one object can serve every sort and every thread.
+    private final QuickSort_Integers quickSort = new QuickSort_Integers();
+
+
+    // THE CONSTRUCTOR
+    //
+    // Creates a BigIntArray of the given length, filled with zeros.
+    public BigIntArray(long length) throws IllegalArgumentException
+    {
+        if(length < 0)
+        {
+            throw new IllegalArgumentException("The length can't be negative!");
+        }
+
+        this.length = length;
+
+        int chunkCount = (int) ((length + CHUNK_SIZE - 1) >>> CHUNK_BITS);
+        chunks = new int[chunkCount][];
+
+        for(int chunk = 0; chunk < chunkCount; chunk++)
+        {
+            long chunkStart = (long) chunk << CHUNK_BITS;
+            chunks[chunk] = new int[(int) Math.min(CHUNK_SIZE, length - chunkStart)];
+        }
+    }
+
+
+    // THE length() METHOD
+    public long length()
+    {
+        return length;
+    }
+
+
+    // THE get() AND set() METHODS
+    //
+    // Read and write the element at the given index. Just like an array, an index
+    // outside the BigIntArray throws an ArrayIndexOutOfBoundsException.
+    public int get(long index)
+    {
+        return chunks[(int) (index >>> CHUNK_BITS)][(int) (index & CHUNK_MASK)];
+    }
+
+
+    public void set(long index, int value)
+    {
+        chunks[(int) (index >>> CHUNK_BITS)][(int) (index & CHUNK_MASK)] = value;
+    }
+
+
+    // THE sortByAscendingOrder() METHOD
+    //
+    // Sorts the whole BigIntArray in ascending order. An empty BigIntArray is rejected,
+    // just like an empty array is rejected by QuickSort_Integers.
+    public void sortByAscendingOrder() throws IllegalArgumentException
+    {
+        validateLength();
+        introSort(0, length - 1, getDepthLimit(length), new long[2]);
+    }
+
+
+    // THE parallelSortByAscendingOrder() METHOD
+    //
+    // Sorts the whole BigIntArray in ascending order, using the threads of the given
+    // pool. The first overload uses the common pool.
+    public void parallelSortByAscendingOrder() throws IllegalArgumentException
+    {
+        parallelSortByAscendingOrder(ForkJoinPool.commonPool());
+    }
+
+
+    public void parallelSortByAscendingOrder(ForkJoinPool pool) throws IllegalArgumentException
+    {
+        validateLength();
+
+        if(pool == null)
+        {
+            throw new IllegalArgumentException("A ForkJoinPool must be provided!");
+        }
+
+        pool.invoke(new ParallelSortTask(0, length - 1, getDepthLimit(length)));
+    }
+
+
+    // THE binarySearch() METHOD
+    //
+    // Searches the BigIntArray, which must already be sorted in ascending order, for
+    // searchValue. Returns the index of the FIRST element equal to it, or -1 if there is
+    // no such element.
+    public long binarySearch(int searchValue)
+    {
+        // The search space is [lowerBound, upperBound). Every element before lowerBound
+        // is known to be less than searchValue, and every element from upperBound on is
+        // known to be greater than or equal to it.
+        long lowerBound = 0;
+        long upperBound = length;
+
+        while(lowerBound < upperBound)
+        {
+            // (lowerBound + upperBound) / 2 could overflow for very large indices.
+            long midPointIndex = lowerBound + (upperBound - lowerBound) / 2;
+
+            if(get(midPointIndex) < searchValue)
+            {
+                lowerBound = midPointIndex + 1;
+            }
+            else
+            {
+                upperBound = midPointIndex;
+            }
+        }
+
+        if(lowerBound < length && get(lowerBound) == searchValue)
+        {
+            return lowerBound;
+        }
+
+        return -1;
+    }
+
+
+    // THE validateLength() METHOD
+    private void validateLength() throws IllegalArgumentException
+    {
+        if(length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+    }
+
+
+    // THE getDepthLimit() METHOD
+    //
+    // 2 * floor(log2(n)), for a long n.
+    private static int getDepthLimit(long size)
+    {
+        return 2 * (63 - Long.numberOfLeadingZeros(size));
+    }
+
+
+    // THE sortInsideChunk() METHOD
+    //
+    // If the elements between startIndex and endIndex (inclusive) all live in the same
+    // chunk, sorts them in place with QuickSort_Integers and returns true. Otherwise,
+    // returns false and does nothing.
+    private boolean sortInsideChunk(long startIndex, long endIndex)
+    {
+        int chunk = (int) (startIndex >>> CHUNK_BITS);
+        if(chunk != (int) (endIndex >>> CHUNK_BITS))
+        {
+            return false;
+        }
+
+        int fromIndex = (int) (startIndex & CHUNK_MASK);
+        int toIndex = (int) (endIndex & CHUNK_MASK) + 1;
+        quickSort.introSortByAscendingOrder(chunks[chunk], fromIndex, toIndex, PartitionScheme.THREE_WAY);
+
+        return true;
+    }
+
+
+    // THE introSort() METHOD
+    //
+    // The long-indexed introsort described at the top of this class. Sorts the
+    // elements between startIndex and endIndex (inclusive). The bounds array receives 
+    // the results of partitionThreeWay(), and is reused by every pass.
+    private void introSort(long startIndex, long endIndex, int depthLimit, long[] bounds)
+    {
+        while(endIndex - startIndex + 1 > SMALL_RANGE_THRESHOLD)
+        {
+            if(sortInsideChunk(startIndex, endIndex))
+            {
+                return;
+            }
+
+            if(depthLimit == 0)
+            {
+                heapSort(startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            partitionThreeWay(startIndex, endIndex, bounds);
+            long lessThanEnd = bounds[0];
+            long greaterThanStart = bounds[1];
+
+            if(lessThanEnd - startIndex < endIndex - greaterThanStart)
+            {
+                introSort(startIndex, lessThanEnd - 1, depthLimit, bounds);
+                startIndex = greaterThanStart + 1;
+            }
+            else
+            {
+                introSort(greaterThanStart + 1, endIndex, depthLimit, bounds);
+                endIndex = lessThanEnd - 1;
+            }
+        }
+
+        if(!sortInsideChunk(startIndex, endIndex))
+        {
+            sortAcrossChunks(startIndex, endIndex);
+        }
+    }
+
+
+    // THE sortAcrossChunks() METHOD
+    //
+    // Sorts a small range that spans two chunks, by copying it into an int[], sorting
+    // that with QuickSort_Integers and copying it back. This happens at most once per 
+    // chunk boundary.
+    private void sortAcrossChunks(long startIndex, long endIndex)
+    {
+        int[] elements = new int[(int) (endIndex - startIndex + 1)];
+        for(int i = 0; i < elements.length; i++)
+        {
+            elements[i] = get(startIndex + i);
+        }
+
+        quickSort.introSortByAscendingOrder(elements, 0, elements.length, PartitionScheme.THREE_WAY);
+
+        for(int i = 0; i < elements.length; i++)
+        {
+            set(startIndex + i, elements[i]);
+        }
+    }
+
+
+    // THE partitionThreeWay() METHOD
+    //
+    // Dijkstra's three-way partition (see QuickSort_Integers.partitionThreeWay()) around
+    // a random pivot. Stores the first and last index of the block of elements equal
+    // to the pivot in bounds[0] and bounds[1].
+    private void partitionThreeWay(long startIndex, long endIndex, long[] bounds)
+    {
+        int pivotValue = get(ThreadLocalRandom.current().nextLong(startIndex, endIndex + 1));
+
+        long lessThanEnd = startIndex;
+        long currentIndex = startIndex;
+        long greaterThanStart = endIndex;
+
+        while(currentIndex <= greaterThanStart)
+        {
+            int element = get(currentIndex);
+
+            if(element < pivotValue)
+            {
+                set(currentIndex, get(lessThanEnd));
+                set(lessThanEnd, element);
+                lessThanEnd++;
+                currentIndex++;
+            }
+            else if(element > pivotValue)
+            {
+                set(currentIndex, get(greaterThanStart));
+                set(greaterThanStart, element);
+                greaterThanStart--;
+            }
+            else
+            {
+                currentIndex++;
+            }
+        }
+
+        bounds[0] = lessThanEnd;
+        bounds[1] = greaterThanStart;
+    }
+
+
+    // THE heapSort() METHOD
+    //
+    // The fallback for a partition that has used up its depth limit. Such a partition
+    // can be billions of elements long, so it is sorted where it is.
+    private void heapSort(long startIndex, long endIndex)
+    {
+        long size = endIndex - startIndex + 1;
+
+        for(long node = size / 2 - 1; node >= 0; node--)
+        {
+            siftDown(startIndex, node, size);
+        }
+
+        for(long heapSize = size - 1; heapSize > 0; heapSize--)
+        {
+            int largest = get(startIndex);
+            set(startIndex, get(startIndex + heapSize));
+            set(startIndex + heapSize, largest);
+
+            siftDown(startIndex, 0, heapSize);
+        }
+    }
+
+
+    // THE siftDown() METHOD
+    private void siftDown(long startIndex, long node, long heapSize)
+    {
+        int element = get(startIndex + node);
+
+        while(true)
+        {
+            long child = 2 * node + 1;
+            if(child >= heapSize)
+            {
+                break;
+            }
+
+            int childValue = get(startIndex + child);
+            if(child + 1 < heapSize && get(startIndex + child + 1) > childValue)
+            {
+                child++;
+                childValue = get(startIndex + child);
+            }
+
+            if(element >= childValue)
+            {
+                break;
+            }
+
+            set(startIndex + node, childValue);
+            node = child;
+        }
+
+        set(startIndex + node, element);
+    }
+
+
+    // THE ParallelSortTask CLASS
+    //
+    // Sorts the elements between startIndex and endIndex (inclusive). A range inside
+    // one chunk is sorted right away. Otherwise, the range is partitioned once, and the
+    // "less" and "greater" sides become two new tasks that run in parallel. Each task
+    // has its own bounds array, as the tasks run on different threads.
+    @SuppressWarnings("serial")
+    private class ParallelSortTask extends RecursiveAction
+    {
+        private final long startIndex;
+        private final long endIndex;
+        private final int depthLimit;
+
+
+        ParallelSortTask(long startIndex, long endIndex, int depthLimit)
+        {
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.depthLimit = depthLimit;
+        }
+
+
+        @Override
+        protected void compute()
+        {
+            if(sortInsideChunk(startIndex, endIndex))
+            {
+                return;
+            }
+
+            long[] bounds = new long[2];
+            if(endIndex - startIndex + 1 <= SMALL_RANGE_THRESHOLD || depthLimit == 0)
+            {
+                introSort(startIndex, endIndex, depthLimit, bounds);
+                return;
+            }
+
+            partitionThreeWay(startIndex, endIndex, bounds);
+
+            invokeAll(new ParallelSortTask(startIndex, bounds[0] - 1, depthLimit - 1),
+                      new ParallelSortTask(bounds[1] + 1, endIndex, depthLimit - 1));
+        }
+    }
+}
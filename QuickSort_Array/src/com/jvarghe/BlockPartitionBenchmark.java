@@ -0,0 +1,100 @@
+package com.jvarghe;
+
+import java.util.Random;
+
+
+// THE BLOCK PARTITION BENCHMARK
+//
+// This program times PartitionScheme.BLOCK and PartitionScheme.VECTOR against the 
+// ordinary partitioning loop (PartitionScheme.LOMUTO) on arrays of random integers, 
+// which is the input where the ordinary loop suffers most from branch mispredictions.
+// To get the SIMD version of VECTOR, compile src-vector as well, and run it with
+// --add-modules jdk.incubator.vector (see the README); without them, VECTOR falls back
+// to BLOCK (the program prints which one is in use). It is a small, self-contained
+// stand-in for a JMH benchmark, following the same recipe:
+//
+//     1. WARM-UP: Each scheme sorts the input a number of times before anything is
+//        measured, so that the JIT has compiled the hot loops by the time the clock
+//        starts.
+//     2. MEASUREMENT: Each scheme then sorts fresh copies of the input repeatedly, and
+//        the average time per sort is reported, along with the time per element.
+//
+// Small arrays are sorted many more times than large ones, so that every measurement
+// takes roughly the same amount of time. The sizes are 1 thousand, 1 million and 100
+// million elements by default; other sizes can be passed in as command line arguments.
+// The 100 million element run needs about 1 GB of heap (e.g. -Xmx2g).
+public class BlockPartitionBenchmark
+{
+    private static final int[] DEFAULT_SIZES = { 1_000, 1_000_000, 100_000_000 };
+
+    // Roughly how many elements each phase should sort in total, per scheme.
+    private static final long ELEMENTS_PER_PHASE = 200_000_000L;
+
+    private static final PartitionScheme[] SCHEMES = 
+            { PartitionScheme.LOMUTO, PartitionScheme.BLOCK, PartitionScheme.VECTOR };
+
+
+    public static void main(String[] args)
+    {
+        int[] sizes = DEFAULT_SIZES;
+        if(args.length > 0)
+        {
+            sizes = new int[args.length];
+            for(int i = 0; i < args.length; i++)
+            {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        QuickSort_Integers qsObject = new QuickSort_Integers();
+
+        System.out.println("SIMD partitioning available: " 
+                + QuickSort_Integers.isVectorPartitionAvailable());
+        System.out.println();
+
+        for(int size : sizes)
+        {
+            int[] input = new int[size];
+            Random rand = new Random(42);
+            for(int i = 0; i < size; i++)
+            {
+                input[i] = rand.nextInt();
+            }
+
+            int[] array = new int[size];
+            int repetitions = (int) Math.max(1, Math.min(100_000, ELEMENTS_PER_PHASE / size));
+
+            System.out.println(String.format("RANDOM INPUT (%,d elements, %,d sorts per measurement)",
+                    size, repetitions));
+            System.out.println(String.format("    %-12s %16s %14s", "SCHEME", "TIME/SORT (ms)", "NS/ELEMENT"));
+
+            for(PartitionScheme scheme : SCHEMES)
+            {
+                // WARM-UP
+                for(int repetition = 0; repetition < repetitions; repetition++)
+                {
+                    System.arraycopy(input, 0, array, 0, size);
+                    qsObject.introSortByAscendingOrder(array, scheme);
+                }
+
+                // MEASUREMENT. Only the sort itself is inside the timed region, not the
+                // copying of the input.
+                long sortTime = 0;
+                for(int repetition = 0; repetition < repetitions; repetition++)
+                {
+                    System.arraycopy(input, 0, array, 0, size);
+
+                    long startTime = System.nanoTime();
+                    qsObject.introSortByAscendingOrder(array, scheme);
+                    sortTime += System.nanoTime() - startTime;
+                }
+
+                double timePerSort = (double) sortTime / repetitions;
+                System.out.println(String.format("    %-12s %16.3f %14.2f", scheme.name(),
+                        timePerSort / 1_000_000.0, timePerSort / size));
+            }
+
+            System.out.println();
+        }
+    }
+}
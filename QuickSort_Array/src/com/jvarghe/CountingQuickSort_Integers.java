@@ -0,0 +1,79 @@
+package com.jvarghe;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+// THE CountingQuickSort_Integers CLASS
+//
+// QuickSort_Integers, with OPERATION COUNTERS. It sorts exactly like QuickSort_Integers,
+// and also counts the element comparisons made by the partitioning step and the swaps
+// made by swapElements(). That makes it possible to compare the partition schemes by
+// how much work they do, not just by how long they take (see PartitionBenchmark.java).
+//
+// The counting is kept out of QuickSort_Integers itself, so that the sorts everyone
+// else uses don't pay for it. The counters are LongAdders, so they stay accurate even
+// when the threads of parallelSortByAscendingOrder() all add to them at once. They keep
+// adding up across sorts until resetCounters() is called.
+public class CountingQuickSort_Integers extends QuickSort_Integers
+{
+    private final LongAdder comparisonCount = new LongAdder();
+    private final LongAdder swapCount = new LongAdder();
+
+
+    // Constructors
+    //
+    // The same as QuickSort_Integers' constructors.
+    public CountingQuickSort_Integers()
+    {
+        super();
+    }
+
+
+    public CountingQuickSort_Integers(PivotStrategy pivotStrategy) throws IllegalArgumentException
+    {
+        super(pivotStrategy);
+    }
+
+
+    // THE COUNTER METHODS
+    //
+    // Getters for the operation counters, and a method to set them back to zero.
+    public long getComparisonCount()
+    {
+        return comparisonCount.sum();
+    }
+
+
+    public long getSwapCount()
+    {
+        return swapCount.sum();
+    }
+
+
+    public void resetCounters()
+    {
+        comparisonCount.reset();
+        swapCount.reset();
+    }
+
+
+    // Every partitioning pass calls this once, with the number of comparisons it made.
+    @Override
+    void countComparisons(long comparisons)
+    {
+        comparisonCount.add(comparisons);
+    }
+
+
+    // A "swap" of an element with itself doesn't move anything, so it isn't counted.
+    @Override
+    void swapElements(int[] array, int index1, int index2)
+    {
+        if(index1 != index2)
+        {
+            swapCount.increment();
+        }
+
+        super.swapElements(array, index1, index2);
+    }
+}
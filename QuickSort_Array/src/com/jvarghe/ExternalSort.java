@@ -0,0 +1,844 @@
+package com.jvarghe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+
+// THE ExternalSort CLASS
+//
+// Every other sort in this project needs the whole array in memory. A file of 200 GB
+// does not fit in memory, so it has to be sorted in pieces. That is called an EXTERNAL
+// SORT, and it works in two phases:
+//
+//     1. RUN GENERATION: Read as much of the file as fits in memory, sort it with
+//        Quick Sort, and write it to a temporary file. Each sorted piece is called a
+//        RUN. Repeat until the whole file has been turned into runs.
+//     2. MERGING: Read all the runs at the same time, from the front, and repeatedly
+//        write out the smallest of their front elements. Since every run is sorted,
+//        the output is sorted too. This is called a K-WAY MERGE, where k is the number
+//        of runs being merged.
+//
+// The k-way merge is done by a LoserTree (see there), which finds the smallest front
+// element with about log2(k) comparisons, the same engine that KWayMerge uses for runs
+// in memory.
+//
+// Every run needs its own read buffer during a merge, and small buffers mean lots of
+// small, slow reads. So at most FAN-IN runs are merged at once. If there are more runs
+// than that, groups of fanIn runs are merged into longer runs first, over several
+// passes, until few enough are left for the final merge into the output file.
+//
+// The phases overlap across threads:
+//
+//     - While one run is sorted and written by a background thread, the main thread
+//       is already reading the next one into a second array.
+//     - As soon as fanIn runs have been written, another background thread starts
+//       merging them, while run generation carries on.
+//
+// MEMORY: The memory budget is split three ways. Two thirds go to run generation: each
+// of them holds one of the two run arrays, and one I/O buffer, used either to read the
+// input or to write the runs. The last third holds the buffers of the background
+// merge. Once run generation is over, the remaining merges get the whole budget. Every
+// run in a merge needs a read buffer of at least MIN_MERGE_BUFFER_SIZE, so a small
+// budget also means a smaller fan-in: see maxFanIn().
+//
+// The files hold fixed-width binary numbers: 4-byte ints (sortIntFile()) or 8-byte
+// longs (sortLongFile()), in the byte order given by setByteOrder(). The default is
+// big-endian, which is what DataOutputStream writes.
+public class ExternalSort
+{
+    private static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    private static final long MIN_MEMORY_BUDGET = 1L << 20;
+    private static final int DEFAULT_FAN_IN = 64;
+
+    // Reads and writes are done through buffers of at least MIN_MERGE_BUFFER_SIZE bytes.
+    // Run arrays are filled and written through buffers of at most MAX_IO_BUFFER_SIZE
+    // bytes, or less if the budget is small (see ioBufferSize()).
+    private static final int MIN_MERGE_BUFFER_SIZE = 64 << 10;
+    private static final int MAX_IO_BUFFER_SIZE = 4 << 20;
+
+    // How long cleanUp() waits for the background threads to stop. A thread that is
+    // sorting a run only notices that it has been interrupted once the sort is done.
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private long memoryBudget = DEFAULT_MEMORY_BUDGET;
+    private Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+    private int fanIn = DEFAULT_FAN_IN;
+    private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+
+    // THE sortIntFile() METHOD
+    //
+    // Sorts the 4-byte ints in the input file in ascending order, and writes them to
+    // the output file. The input file is not changed.
+    public void sortIntFile(Path input, Path output) throws IOException
+    {
+        sortFile(input, output, Integer.BYTES);
+    }
+
+
+    // THE sortLongFile() METHOD
+    //
+    // Sorts the 8-byte longs in the input file in ascending order, and writes them to
+    // the output file. The input file is not changed.
+    public void sortLongFile(Path input, Path output) throws IOException
+    {
+        sortFile(input, output, Long.BYTES);
+    }
+
+
+    // GETTERS AND SETTERS
+    //
+    // The memory budget is the number of bytes the sort may use for run arrays and
+    // buffers. It decides how long the runs are. The temporary directory is where the
+    // runs are written; it needs about as much free space as the input file. The fan-in
+    // is the largest number of runs that are merged at once. A small memory budget may
+    // merge fewer runs at once than that (see maxFanIn()).
+    public long getMemoryBudget()
+    {
+        return memoryBudget;
+    }
+
+
+    public void setMemoryBudget(long memoryBudget) throws IllegalArgumentException
+    {
+        if(memoryBudget < MIN_MEMORY_BUDGET)
+        {
+            throw new IllegalArgumentException("The memory budget must be at least 1 MB!");
+        }
+
+        this.memoryBudget = memoryBudget;
+    }
+
+
+    public Path getTempDirectory()
+    {
+        return tempDirectory;
+    }
+
+
+    public void setTempDirectory(Path tempDirectory) throws IllegalArgumentException
+    {
+        if(tempDirectory == null)
+        {
+            throw new IllegalArgumentException("A temporary directory must be provided!");
+        }
+
+        this.tempDirectory = tempDirectory;
+    }
+
+
+    public int getFanIn()
+    {
+        return fanIn;
+    }
+
+
+    public void setFanIn(int fanIn) throws IllegalArgumentException
+    {
+        if(fanIn < 2)
+        {
+            throw new IllegalArgumentException("The fan-in must be at least 2!");
+        }
+
+        this.fanIn = fanIn;
+    }
+
+
+    public ByteOrder getByteOrder()
+    {
+        return byteOrder;
+    }
+
+
+    public void setByteOrder(ByteOrder byteOrder) throws IllegalArgumentException
+    {
+        if(byteOrder == null)
+        {
+            throw new IllegalArgumentException("A byte order must be provided!");
+        }
+
+        this.byteOrder = byteOrder;
+    }
+
+
+    // THE sortFile() METHOD
+    //
+    // Runs both phases for elements of elementSize bytes. All the temporary files live
+    // in a directory of their own, which is deleted at the end, even if the sort fails.
+    // If the sort fails AND so does the clean-up, the sort's exception is the one that 
+    // is thrown, and the clean-up's exception is attached to it as a suppressed one.
+    private void sortFile(Path input, Path output, int elementSize) throws IOException
+    {
+        if(input == null || output == null)
+        {
+            throw new IllegalArgumentException("Both an input and an output file must be provided!");
+        }
+
+        long fileSize = Files.size(input);
+        if(fileSize % elementSize != 0)
+        {
+            throw new IllegalArgumentException("The size of the input file is not a multiple of "
+                                               + elementSize + " bytes!");
+        }
+
+        Path workDirectory = Files.createTempDirectory(tempDirectory, "external-sort");
+        ExecutorService runWriter = Executors.newSingleThreadExecutor();
+        ExecutorService merger = Executors.newSingleThreadExecutor();
+
+        Throwable failure = null;
+        try
+        {
+            List<Run> runs = generateRuns(input, elementSize, workDirectory, runWriter, merger);
+            mergeAll(runs, output, elementSize, workDirectory);
+        }
+        catch(Throwable e)
+        {
+            failure = e;
+            throw e;
+        }
+        finally
+        {
+            IOException cleanUpFailure = cleanUp(workDirectory, runWriter, merger);
+            if(cleanUpFailure != null)
+            {
+                if(failure != null)
+                {
+                    failure.addSuppressed(cleanUpFailure);
+                }
+                else
+                {
+                    throw cleanUpFailure;
+                }
+            }
+        }
+    }
+
+
+    // THE cleanUp() METHOD
+    //
+    // Stops the background threads, WAITS for them to stop, and only then deletes the
+    // work directory, so that no thread is still writing to a file that is being 
+    // deleted. Every step is tried, even if an earlier one failed. Returns the first 
+    // failure, with any later ones attached as suppressed exceptions, or null if there
+    // were none. It never throws, so that it can't hide the failure of the sort itself.
+    private static IOException cleanUp(Path workDirectory, ExecutorService... executors)
+    {
+        IOException failure = null;
+
+        for(ExecutorService executor : executors)
+        {
+            executor.shutdownNow();
+        }
+
+        try
+        {
+            for(ExecutorService executor : executors)
+            {
+                if(!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                {
+                    failure = addFailure(failure, new IOException("A background thread of the external sort did "
+                                                                  + "not stop in time!"));
+                }
+            }
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            failure = addFailure(failure, new IOException("The external sort was interrupted while waiting "
+                                                          + "for its background threads to stop!", e));
+        }
+
+        try
+        {
+            deleteDirectory(workDirectory);
+        }
+        catch(IOException e)
+        {
+            failure = addFailure(failure, e);
+        }
+
+        return failure;
+    }
+
+
+    // THE addFailure() METHOD
+    //
+    // Returns the first failure, with the new one attached to it as a suppressed 
+    // exception. If there was no failure yet, the new one becomes the first.
+    private static IOException addFailure(IOException failure, IOException newFailure)
+    {
+        if(failure == null)
+        {
+            return newFailure;
+        }
+
+        failure.addSuppressed(newFailure);
+        return failure;
+    }
+
+
+    // THE generateRuns() METHOD
+    //
+    // PHASE 1. Reads the input into one of two run arrays, and hands each full array to
+    // the run writer thread, which sorts it and writes it out. Meanwhile, the other
+    // array is filled. Whenever enough runs are waiting (see maxFanIn()), and the
+    // merger thread is idle, they are handed to it. Returns every run that is left once all of this is done.
+    //
+    // Each third of the budget for run generation holds one run array and one I/O
+    // buffer: the read buffer, which the main thread fills the arrays from, or the
+    // write buffer, which the run writer thread writes every run through. Both buffers
+    // are allocated once per sort, and reused for every run.
+    private List<Run> generateRuns(Path input, int elementSize, Path workDirectory,
+                                   ExecutorService runWriter, ExecutorService merger) throws IOException
+    {
+        long share = memoryBudget / 3;
+        int ioBufferSize = ioBufferSize(share);
+        long runLength = Math.min((share - ioBufferSize) / elementSize, Integer.MAX_VALUE - 8);
+        long fileLength = Files.size(input) / elementSize;
+        int arrayLength = (int) Math.max(1, Math.min(runLength, fileLength));
+
+        // The background merge gets the last third of the budget.
+        int mergeFanIn = maxFanIn(share);
+
+        // The two run arrays, and the write that is using each of them, if any.
+        RunArray[] arrays = new RunArray[2];
+        List<Future<Run>> arrayInUse = new ArrayList<>(Collections.nCopies(2, null));
+
+        Deque<Future<Run>> pendingRuns = new ArrayDeque<>();
+        List<Run> runs = new ArrayList<>();
+        Future<Run> pendingMerge = null;
+
+        try(FileChannel channel = FileChannel.open(input, StandardOpenOption.READ))
+        {
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(ioBufferSize).order(byteOrder);
+            readBuffer.limit(0);
+
+            // Only ever used by the run writer thread, one run at a time.
+            ByteBuffer writeBuffer = ByteBuffer.allocateDirect(ioBufferSize).order(byteOrder);
+
+            for(int runNumber = 0; ; runNumber++)
+            {
+                int slot = runNumber % 2;
+
+                // Wait until the writer is done with this array before refilling it.
+                if(arrayInUse.get(slot) != null)
+                {
+                    await(arrayInUse.get(slot));
+                }
+                if(arrays[slot] == null)
+                {
+                    arrays[slot] = elementSize == Integer.BYTES ? new IntRunArray(arrayLength)
+                                                                 : new LongRunArray(arrayLength);
+                }
+
+                RunArray array = arrays[slot];
+                int length = array.fill(channel, readBuffer);
+                if(length == 0)
+                {
+                    break;
+                }
+
+                Path runFile = workDirectory.resolve("run-" + runNumber);
+                Future<Run> run = runWriter.submit(() -> array.sortAndWrite(length, runFile, writeBuffer));
+                arrayInUse.set(slot, run);
+                pendingRuns.addLast(run);
+
+                // Collect the runs that have been written, in order, and keep the merger
+                // thread busy.
+                while(!pendingRuns.isEmpty() && pendingRuns.peekFirst().isDone())
+                {
+                    runs.add(await(pendingRuns.removeFirst()));
+                }
+                if(pendingMerge != null && pendingMerge.isDone())
+                {
+                    runs.add(await(pendingMerge));
+                    pendingMerge = null;
+                }
+                if(pendingMerge == null && runs.size() >= mergeFanIn)
+                {
+                    List<Run> group = new ArrayList<>(runs.subList(0, mergeFanIn));
+                    runs.subList(0, mergeFanIn).clear();
+
+                    Path mergedFile = workDirectory.resolve("merged-" + runNumber);
+                    int bufferSize = mergeBufferSize(share, group.size());
+                    pendingMerge = merger.submit(() -> mergeRuns(group, mergedFile, elementSize, bufferSize));
+                }
+            }
+        }
+
+        while(!pendingRuns.isEmpty())
+        {
+            runs.add(await(pendingRuns.removeFirst()));
+        }
+        if(pendingMerge != null)
+        {
+            runs.add(await(pendingMerge));
+        }
+
+        return runs;
+    }
+
+
+    // THE mergeAll() METHOD
+    //
+    // PHASE 2. While there are more than k runs, merges the k SHORTEST runs into one,
+    // where k is the fan-in that the whole budget allows. Merging the shortest ones
+    // first means the long runs are copied as few times as possible. The last k runs
+    // (or fewer) are merged straight into the output.
+    private void mergeAll(List<Run> runs, Path output, int elementSize, Path workDirectory)
+            throws IOException
+    {
+        int mergeFanIn = maxFanIn(memoryBudget);
+        int mergeNumber = 0;
+
+        while(runs.size() > mergeFanIn)
+        {
+            runs.sort(Comparator.comparingLong(run -> run.length));
+
+            List<Run> group = new ArrayList<>(runs.subList(0, mergeFanIn));
+            runs.subList(0, mergeFanIn).clear();
+
+            Path mergedFile = workDirectory.resolve("final-merge-" + mergeNumber++);
+            runs.add(mergeRuns(group, mergedFile, elementSize, mergeBufferSize(memoryBudget, mergeFanIn)));
+        }
+
+        if(runs.isEmpty())
+        {
+            // An empty input file gives an empty output file.
+            Files.write(output, new byte[0]);
+        }
+        else if(runs.size() == 1)
+        {
+            Files.move(runs.get(0).file, output, StandardCopyOption.REPLACE_EXISTING);
+        }
+        else
+        {
+            mergeRuns(runs, output, elementSize, mergeBufferSize(memoryBudget, runs.size()));
+        }
+    }
+
+
+    // THE maxFanIn() METHOD
+    //
+    // The number of runs that a merge with the given share of the memory budget may
+    // take: at most fanIn, and no more than leaves every read buffer, and the write
+    // buffer, MIN_MERGE_BUFFER_SIZE bytes. The smallest budget allowed still leaves
+    // room for a fan-in of 4, even in a third of it.
+    private int maxFanIn(long memory)
+    {
+        return (int) Math.min(fanIn, memory / MIN_MERGE_BUFFER_SIZE - 1);
+    }
+
+
+    // THE mergeBufferSize() METHOD
+    //
+    // Splits a share of the memory budget evenly between the read buffers of 'inputs'
+    // runs and one write buffer. The size is rounded down to a whole number of longs.
+    // As 'inputs' is never more than maxFanIn() allows, the buffers are never smaller
+    // than MIN_MERGE_BUFFER_SIZE, and never add up to more than the share.
+    private static int mergeBufferSize(long memory, int inputs)
+    {
+        long size = Math.min(memory / (inputs + 1), Integer.MAX_VALUE - 8);
+        return (int) (size & ~7L);
+    }
+
+
+    // THE ioBufferSize() METHOD
+    //
+    // The size of the read and write buffers of run generation, which come out of a
+    // third of the budget each: an eighth of that third, but at least
+    // MIN_MERGE_BUFFER_SIZE, and at most MAX_IO_BUFFER_SIZE. Always a whole number of
+    // longs.
+    private static int ioBufferSize(long share)
+    {
+        long size = Math.max(MIN_MERGE_BUFFER_SIZE, Math.min(share / 8, MAX_IO_BUFFER_SIZE));
+        return (int) (size & ~7L);
+    }
+
+
+    // THE mergeRuns() METHOD
+    //
+    // Merges the runs into one file with a LoserTree, and deletes them afterwards.
+    private Run mergeRuns(List<Run> runs, Path output, int elementSize, int bufferSize) throws IOException
+    {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        long length = 0;
+
+        try(FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            for(int i = 0; i < k; i++)
+            {
+                readers[i] = new RunReader(runs.get(i).file, elementSize, bufferSize);
+            }
+
+            LoserTree tree = new LoserTree(readers);
+            ByteBuffer writeBuffer = ByteBuffer.allocateDirect(bufferSize).order(byteOrder);
+
+            while(tree.hasNext())
+            {
+                long value = tree.next();
+
+                if(writeBuffer.remaining() < elementSize)
+                {
+                    writeFully(out, writeBuffer);
+                }
+                if(elementSize == Integer.BYTES)
+                {
+                    writeBuffer.putInt((int) value);
+                }
+                else
+                {
+                    writeBuffer.putLong(value);
+                }
+                length++;
+            }
+
+            writeFully(out, writeBuffer);
+        }
+        catch(UncheckedIOException e)
+        {
+            // A RunReader failed to read its run (see RunReader.advance()).
+            throw e.getCause();
+        }
+        finally
+        {
+            for(RunReader reader : readers)
+            {
+                if(reader != null)
+                {
+                    reader.close();
+                }
+            }
+        }
+
+        for(Run run : runs)
+        {
+            Files.deleteIfExists(run.file);
+        }
+
+        return new Run(output, length);
+    }
+
+
+    // THE writeFully() METHOD
+    //
+    // Writes everything in the buffer to the channel, and empties the buffer.
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+
+    // THE await() METHOD
+    //
+    // Waits for a background task and returns its result. If the task failed, its
+    // exception is thrown here, on the calling thread.
+    private static <T> T await(Future<T> future) throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("The external sort was interrupted!", e);
+        }
+        catch(ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if(cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+
+    // THE deleteDirectory() METHOD
+    private static void deleteDirectory(Path directory) throws IOException
+    {
+        try(Stream<Path> files = Files.list(directory))
+        {
+            files.forEach(file ->
+            {
+                try
+                {
+                    Files.deleteIfExists(file);
+                }
+                catch(IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch(UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        Files.deleteIfExists(directory);
+    }
+
+
+    // THE Run CLASS
+    //
+    // A sorted run: the file it is in, and the number of elements it holds.
+    private static final class Run
+    {
+        private final Path file;
+        private final long length;
+
+
+        Run(Path file, long length)
+        {
+            this.file = file;
+            this.length = length;
+        }
+    }
+
+
+    // THE RunReader CLASS
+    //
+    // Reads one run, one element at a time, through a large buffer, as a source for the
+    // LoserTree. A LoserTree.Source can't throw an IOException, so a failed read is
+    // wrapped in an UncheckedIOException, and unwrapped again by mergeRuns().
+    private final class RunReader extends LoserTree.Source
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int elementSize;
+
+
+        RunReader(Path file, int elementSize, int bufferSize) throws IOException
+        {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(byteOrder);
+            this.elementSize = elementSize;
+
+            buffer.limit(0);
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(buffer.remaining() < elementSize)
+            {
+                try
+                {
+                    buffer.compact();
+                    while(buffer.position() < elementSize && channel.read(buffer) > 0)
+                    {
+                        // Keep reading until at least one whole element is in the buffer.
+                    }
+                    buffer.flip();
+                }
+                catch(IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+
+                if(buffer.remaining() < elementSize)
+                {
+                    return false;
+                }
+            }
+
+            head = elementSize == Integer.BYTES ? buffer.getInt() : buffer.getLong();
+            return true;
+        }
+
+
+        void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+
+
+    // THE RunArray CLASS
+    //
+    // One of the two arrays that runs are built in. There is one version for ints and
+    // one for longs.
+    private abstract class RunArray
+    {
+        // Fills the array from the channel, and returns the number of elements read.
+        // Returns 0 at the end of the file.
+        abstract int fill(FileChannel channel, ByteBuffer readBuffer) throws IOException;
+
+        // Sorts the first 'length' elements and writes them to a new run file, through
+        // the write buffer.
+        abstract Run sortAndWrite(int length, Path file, ByteBuffer writeBuffer) throws IOException;
+
+
+        // Reads from the channel until the buffer holds at least one whole element, or
+        // the file ends. Returns false at the end of the file.
+        boolean refill(FileChannel channel, ByteBuffer readBuffer, int elementSize) throws IOException
+        {
+            readBuffer.compact();
+            while(readBuffer.position() < elementSize && channel.read(readBuffer) > 0)
+            {
+                // Keep reading until at least one whole element is in the buffer.
+            }
+            readBuffer.flip();
+
+            return readBuffer.remaining() >= elementSize;
+        }
+
+
+        // Opens a new run file for writing.
+        FileChannel create(Path file) throws IOException
+        {
+            return FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+    }
+
+
+    private final class IntRunArray extends RunArray
+    {
+        private final int[] array;
+        private final QuickSort_Integers quickSort = new QuickSort_Integers();
+
+
+        IntRunArray(int length)
+        {
+            this.array = new int[length];
+        }
+
+
+        @Override
+        int fill(FileChannel channel, ByteBuffer readBuffer) throws IOException
+        {
+            int length = 0;
+
+            while(length < array.length)
+            {
+                if(readBuffer.remaining() < Integer.BYTES && !refill(channel, readBuffer, Integer.BYTES))
+                {
+                    break;
+                }
+
+                int count = Math.min(readBuffer.remaining() / Integer.BYTES, array.length - length);
+                readBuffer.asIntBuffer().get(array, length, count);
+                readBuffer.position(readBuffer.position() + count * Integer.BYTES);
+                length += count;
+            }
+
+            return length;
+        }
+
+
+        @Override
+        Run sortAndWrite(int length, Path file, ByteBuffer writeBuffer) throws IOException
+        {
+            quickSort.introSortByAscendingOrder(array, 0, length, PartitionScheme.DUAL_PIVOT);
+
+            try(FileChannel out = create(file))
+            {
+                writeBuffer.clear();
+
+                for(int written = 0; written < length; )
+                {
+                    int count = Math.min(writeBuffer.capacity() / Integer.BYTES, length - written);
+                    writeBuffer.asIntBuffer().put(array, written, count);
+                    writeBuffer.position(count * Integer.BYTES);
+                    writeFully(out, writeBuffer);
+                    written += count;
+                }
+            }
+
+            return new Run(file, length);
+        }
+    }
+
+
+    private final class LongRunArray extends RunArray
+    {
+        private final long[] array;
+        private final QuickSort_Longs quickSort = new QuickSort_Longs();
+
+
+        LongRunArray(int length)
+        {
+            this.array = new long[length];
+        }
+
+
+        @Override
+        int fill(FileChannel channel, ByteBuffer readBuffer) throws IOException
+        {
+            int length = 0;
+
+            while(length < array.length)
+            {
+                if(readBuffer.remaining() < Long.BYTES && !refill(channel, readBuffer, Long.BYTES))
+                {
+                    break;
+                }
+
+                int count = Math.min(readBuffer.remaining() / Long.BYTES, array.length - length);
+                readBuffer.asLongBuffer().get(array, length, count);
+                readBuffer.position(readBuffer.position() + count * Long.BYTES);
+                length += count;
+            }
+
+            return length;
+        }
+
+
+        @Override
+        Run sortAndWrite(int length, Path file, ByteBuffer writeBuffer) throws IOException
+        {
+            quickSort.sortByAscendingOrder(array, 0, length);
+
+            try(FileChannel out = create(file))
+            {
+                writeBuffer.clear();
+
+                for(int written = 0; written < length; )
+                {
+                    int count = Math.min(writeBuffer.capacity() / Long.BYTES, length - written);
+                    writeBuffer.asLongBuffer().put(array, written, count);
+                    writeBuffer.position(count * Long.BYTES);
+                    writeFully(out, writeBuffer);
+                    written += count;
+                }
+            }
+
+            return new Run(file, length);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.jvarghe;
+
+import java.util.function.IntUnaryOperator;
+
+
+// THE IntComparator INTERFACE
+//
+// java.util.Comparator can only compare objects, so sorting ints in any order other
+// than ascending used to mean boxing every element into an Integer[]. An IntComparator
+// compares two ints directly. Pass one to QuickSort_Integers.sortByComparator().
+//
+// compare() works just like Comparator.compare(): it returns a negative number if 'a'
+// should come before 'b', a positive number if it should come after, and 0 if the two
+// are equal in this order. It must be consistent: if a comes before b and b before c,
+// a must come before c.
+//
+// NATURAL and REVERSE are special. sortByComparator() recognises them and sorts with the
+// plain ascending code instead of calling compare() at all, so always use these two
+// constants rather than writing lambdas of your own for those orders.
+@FunctionalInterface
+public interface IntComparator
+{
+    int compare(int a, int b);
+
+
+    // NATURAL ORDER: ascending.
+    IntComparator NATURAL = Integer::compare;
+
+
+    // REVERSE ORDER: descending.
+    IntComparator REVERSE = (a, b) -> Integer.compare(b, a);
+
+
+    // THE reversed() METHOD
+    //
+    // Returns the opposite order. The reverse of NATURAL is REVERSE, and the other way
+    // round, so that the fast paths still apply.
+    default IntComparator reversed()
+    {
+        if(this == NATURAL)
+        {
+            return REVERSE;
+        }
+        if(this == REVERSE)
+        {
+            return NATURAL;
+        }
+
+        return (a, b) -> compare(b, a);
+    }
+
+
+    // THE comparing() METHOD
+    //
+    // Orders ints by a key computed from each of them, in ascending order of the key.
+    // For example, comparing(Math::abs) orders by absolute value, and
+    // comparing(Integer::reverse) orders by the reversed bit pattern. The key is
+    // computed again on every comparison, so it should be cheap.
+    static IntComparator comparing(IntUnaryOperator keyExtractor) throws IllegalArgumentException
+    {
+        if(keyExtractor == null)
+        {
+            throw new IllegalArgumentException("A key extractor must be provided!");
+        }
+
+        return (a, b) -> Integer.compare(keyExtractor.applyAsInt(a), keyExtractor.applyAsInt(b));
+    }
+}
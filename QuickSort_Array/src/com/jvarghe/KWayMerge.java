@@ -0,0 +1,431 @@
+package com.jvarghe;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+
+// THE KWayMerge CLASS
+//
+// Merges k runs that are ALREADY SORTED in ascending order into one sorted sequence.
+// Joining the runs together and sorting the result with QuickSort_Integers would work,
+// but it throws away the fact that the runs are sorted, and costs O(n log n). A k-way
+// merge costs O(n log k): every element comes out of a LoserTree (see there) after about
+// log2(k) comparisons. Merging 256 runs takes 8 comparisons per element.
+//
+// The runs can be given as arrays, as buffers (from their position to their limit) or as
+// primitive iterators, of ints or longs. The result can be:
+//
+//     - returned as a new array:            merge(runs...)
+//     - written into an existing array:     mergeInto(destination, runs...)
+//     - handed, one element at a time, to a sink: merge(sink, runs...)
+//
+// None of them allocate anything per element. The runs themselves are never changed,
+// and neither is the position of a buffer.
+//
+// The runs are NOT checked. If one of them is not sorted, the output will not be sorted
+// either. Empty runs are fine.
+public class KWayMerge
+{
+    // THE merge() METHOD, FOR int[] RUNS
+    //
+    // Returns a new array that holds every element of every run, in ascending order.
+    public int[] merge(int[]... runs) throws IllegalArgumentException
+    {
+        int[] destination = new int[Math.toIntExact(totalLength(runs))];
+        mergeInto(destination, runs);
+        return destination;
+    }
+
+
+    // THE mergeInto() METHOD, FOR int[] RUNS
+    //
+    // Writes the merged runs to the start of 'destination', which must be long enough to
+    // hold all of them.
+    public void mergeInto(int[] destination, int[]... runs) throws IllegalArgumentException
+    {
+        if(destination == null)
+        {
+            throw new IllegalArgumentException("The destination array is null!");
+        }
+        if(totalLength(runs) > destination.length)
+        {
+            throw new IllegalArgumentException("The destination array is too short to hold the runs!");
+        }
+
+        LoserTree tree = new LoserTree(intArraySources(runs));
+        for(int i = 0; tree.hasNext(); i++)
+        {
+            destination[i] = (int) tree.next();
+        }
+    }
+
+
+    // THE merge() METHOD, FOR int[] RUNS AND A SINK
+    public void merge(IntConsumer sink, int[]... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        drainInts(new LoserTree(intArraySources(runs)), sink);
+    }
+
+
+    // THE merge() METHOD, FOR IntBuffer RUNS AND A SINK
+    public void merge(IntConsumer sink, IntBuffer... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new IntBufferSource(runs[i]);
+        }
+
+        drainInts(new LoserTree(sources), sink);
+    }
+
+
+    // THE merge() METHOD, FOR ITERATOR RUNS AND A SINK
+    public void merge(IntConsumer sink, PrimitiveIterator.OfInt... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new IntIteratorSource(runs[i]);
+        }
+
+        drainInts(new LoserTree(sources), sink);
+    }
+
+
+    // THE merge() METHOD, FOR long[] RUNS
+    public long[] merge(long[]... runs) throws IllegalArgumentException
+    {
+        long[] destination = new long[Math.toIntExact(totalLength(runs))];
+        mergeInto(destination, runs);
+        return destination;
+    }
+
+
+    // THE mergeInto() METHOD, FOR long[] RUNS
+    public void mergeInto(long[] destination, long[]... runs) throws IllegalArgumentException
+    {
+        if(destination == null)
+        {
+            throw new IllegalArgumentException("The destination array is null!");
+        }
+        if(totalLength(runs) > destination.length)
+        {
+            throw new IllegalArgumentException("The destination array is too short to hold the runs!");
+        }
+
+        LoserTree tree = new LoserTree(longArraySources(runs));
+        for(int i = 0; tree.hasNext(); i++)
+        {
+            destination[i] = tree.next();
+        }
+    }
+
+
+    // THE merge() METHOD, FOR long[] RUNS AND A SINK
+    public void merge(LongConsumer sink, long[]... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        drainLongs(new LoserTree(longArraySources(runs)), sink);
+    }
+
+
+    // THE merge() METHOD, FOR LongBuffer RUNS AND A SINK
+    public void merge(LongConsumer sink, LongBuffer... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new LongBufferSource(runs[i]);
+        }
+
+        drainLongs(new LoserTree(sources), sink);
+    }
+
+
+    // THE merge() METHOD, FOR ITERATOR RUNS AND A SINK
+    public void merge(LongConsumer sink, PrimitiveIterator.OfLong... runs) throws IllegalArgumentException
+    {
+        validateSink(sink);
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new LongIteratorSource(runs[i]);
+        }
+
+        drainLongs(new LoserTree(sources), sink);
+    }
+
+
+    // THE drainInts() AND drainLongs() METHODS
+    //
+    // Hand every element of the merge to the sink.
+    private static void drainInts(LoserTree tree, IntConsumer sink)
+    {
+        while(tree.hasNext())
+        {
+            sink.accept((int) tree.next());
+        }
+    }
+
+
+    private static void drainLongs(LoserTree tree, LongConsumer sink)
+    {
+        while(tree.hasNext())
+        {
+            sink.accept(tree.next());
+        }
+    }
+
+
+    // THE intArraySources() AND longArraySources() METHODS
+    private static LoserTree.Source[] intArraySources(int[][] runs)
+    {
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new IntArraySource(runs[i]);
+        }
+
+        return sources;
+    }
+
+
+    private static LoserTree.Source[] longArraySources(long[][] runs)
+    {
+        validateRuns(runs);
+
+        LoserTree.Source[] sources = new LoserTree.Source[runs.length];
+        for(int i = 0; i < runs.length; i++)
+        {
+            sources[i] = new LongArraySource(runs[i]);
+        }
+
+        return sources;
+    }
+
+
+    // THE totalLength() METHOD
+    //
+    // The number of elements in all of the runs together.
+    private static long totalLength(Object[] runs)
+    {
+        validateRuns(runs);
+
+        long length = 0;
+        for(Object run : runs)
+        {
+            length += run instanceof int[] ? ((int[]) run).length : ((long[]) run).length;
+        }
+
+        return length;
+    }
+
+
+    // THE validateRuns() AND validateSink() METHODS
+    private static void validateRuns(Object[] runs) throws IllegalArgumentException
+    {
+        if(runs == null)
+        {
+            throw new IllegalArgumentException("The runs are null!");
+        }
+
+        for(int i = 0; i < runs.length; i++)
+        {
+            if(runs[i] == null)
+            {
+                throw new IllegalArgumentException("Run " + i + " is null!");
+            }
+        }
+    }
+
+
+    private static void validateSink(Object sink) throws IllegalArgumentException
+    {
+        if(sink == null)
+        {
+            throw new IllegalArgumentException("The sink is null!");
+        }
+    }
+
+
+    // THE SOURCES
+    //
+    // One LoserTree.Source for each kind of run. The buffer sources read with absolute
+    // get()s, so the buffer's own position is left where it was.
+    private static final class IntArraySource extends LoserTree.Source
+    {
+        private final int[] run;
+        private int index;
+
+
+        IntArraySource(int[] run)
+        {
+            this.run = run;
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(index == run.length)
+            {
+                return false;
+            }
+
+            head = run[index++];
+            return true;
+        }
+    }
+
+
+    private static final class LongArraySource extends LoserTree.Source
+    {
+        private final long[] run;
+        private int index;
+
+
+        LongArraySource(long[] run)
+        {
+            this.run = run;
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(index == run.length)
+            {
+                return false;
+            }
+
+            head = run[index++];
+            return true;
+        }
+    }
+
+
+    private static final class IntBufferSource extends LoserTree.Source
+    {
+        private final IntBuffer run;
+        private final int limit;
+        private int index;
+
+
+        IntBufferSource(IntBuffer run)
+        {
+            this.run = run;
+            this.limit = run.limit();
+            this.index = run.position();
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(index == limit)
+            {
+                return false;
+            }
+
+            head = run.get(index++);
+            return true;
+        }
+    }
+
+
+    private static final class LongBufferSource extends LoserTree.Source
+    {
+        private final LongBuffer run;
+        private final int limit;
+        private int index;
+
+
+        LongBufferSource(LongBuffer run)
+        {
+            this.run = run;
+            this.limit = run.limit();
+            this.index = run.position();
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(index == limit)
+            {
+                return false;
+            }
+
+            head = run.get(index++);
+            return true;
+        }
+    }
+
+
+    private static final class IntIteratorSource extends LoserTree.Source
+    {
+        private final PrimitiveIterator.OfInt run;
+
+
+        IntIteratorSource(PrimitiveIterator.OfInt run)
+        {
+            this.run = run;
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(!run.hasNext())
+            {
+                return false;
+            }
+
+            head = run.nextInt();
+            return true;
+        }
+    }
+
+
+    private static final class LongIteratorSource extends LoserTree.Source
+    {
+        private final PrimitiveIterator.OfLong run;
+
+
+        LongIteratorSource(PrimitiveIterator.OfLong run)
+        {
+            this.run = run;
+        }
+
+
+        @Override
+        boolean advance()
+        {
+            if(!run.hasNext())
+            {
+                return false;
+            }
+
+            head = run.nextLong();
+            return true;
+        }
+    }
+}
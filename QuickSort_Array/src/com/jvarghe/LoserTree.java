@@ -0,0 +1,199 @@
+package com.jvarghe;
+
+
+// THE LoserTree CLASS
+//
+// Merges k sorted runs into one sorted sequence, one element at a time. KWayMerge and
+// ExternalSort are both built on it.
+//
+// Finding the smallest of the k front elements by looking at all of them would take
+// k - 1 comparisons per element. A LOSER TREE needs only about log2(k). It is a
+// tournament between the runs, played like a knockout competition:
+//
+//     - The runs are the leaves. Leaf i sits at position (k + i) of an implicit binary
+//       tree, where the parent of position p is p / 2.
+//     - Positions 1 to k - 1 are the internal nodes. Each holds the run that LOST the
+//       match played there.
+//     - The overall winner, the run with the smallest front element, is kept apart.
+//
+// When the winner's run moves on to its next element, only the matches on the path
+// from its leaf up to the top have to be played again. At each node, the new element
+// plays the loser stored there, which is exactly the run it would have met in the
+// original tournament. That is one comparison per level, and nothing else in the tree
+// has to be looked at.
+//
+// The elements are handled as longs. A long holds every int value and keeps them in
+// the same order, so merging ints needs no separate version; they are simply cast
+// back on the way out.
+final class LoserTree
+{
+    private final Source[] sources;
+
+    // losers[node] is the run that lost the match at that node, and loserKeys[node] is
+    // that run's front element. Keeping the element right next to the run number means
+    // a match reads one array slot, rather than jumping to wherever the run lives.
+    private final int[] losers;
+    private final long[] loserKeys;
+
+    // An exhausted run plays on with the key Long.MAX_VALUE, so that it loses to every
+    // run that still has elements (see beats()).
+    private final boolean[] exhausted;
+    private int liveRuns;
+
+    private int winner;
+    private long winnerKey;
+
+
+    // THE Source CLASS
+    //
+    // One sorted run. advance() moves on to the next element and stores it in 'head'.
+    // It returns false, and leaves 'head' alone, once the run has no elements left.
+    abstract static class Source
+    {
+        long head;
+
+        abstract boolean advance();
+    }
+
+
+    // THE CONSTRUCTOR
+    //
+    // Loads the first element of every run and plays the whole tournament once.
+    LoserTree(Source[] sources)
+    {
+        int k = sources.length;
+
+        this.sources = sources;
+        this.losers = new int[k];
+        this.loserKeys = new long[k];
+        this.exhausted = new boolean[k];
+
+        if(k == 0)
+        {
+            return;
+        }
+
+        // PLAY THE TOURNAMENT, from the bottom of the tree up. winners[p] is the run that
+        // won at position p, and winnerKeys[p] its front element. Each leaf wins its own
+        // (empty) match, and every internal node keeps the loser of the match between
+        // its two children's winners.
+        int[] winners = new int[2 * k];
+        long[] winnerKeys = new long[2 * k];
+
+        for(int run = 0; run < k; run++)
+        {
+            winners[k + run] = run;
+            winnerKeys[k + run] = firstKey(run);
+        }
+
+        for(int node = k - 1; node > 0; node--)
+        {
+            int left = 2 * node;
+            int right = left + 1;
+
+            int winningChild = beats(winnerKeys[right], winners[right], winnerKeys[left], winners[left])
+                               ? right : left;
+            int losingChild = winningChild ^ 1;
+
+            winners[node] = winners[winningChild];
+            winnerKeys[node] = winnerKeys[winningChild];
+            losers[node] = winners[losingChild];
+            loserKeys[node] = winnerKeys[losingChild];
+        }
+
+        // Position 1 is the top of the tree. With a single run, it is that run's leaf.
+        winner = winners[1];
+        winnerKey = winnerKeys[1];
+    }
+
+
+    // THE hasNext() METHOD
+    //
+    // Returns true if any run still has elements left.
+    boolean hasNext()
+    {
+        return liveRuns > 0;
+    }
+
+
+    // THE next() METHOD
+    //
+    // Returns the smallest front element of all the runs, and moves its run on to the
+    // next element. Only call it when hasNext() is true.
+    long next()
+    {
+        long value = winnerKey;
+        int run = winner;
+
+        long key;
+        Source source = sources[run];
+        if(source.advance())
+        {
+            key = source.head;
+        }
+        else
+        {
+            key = exhaust(run);
+        }
+
+        // REPLAY THE MATCHES on the path from the run's leaf up to the top. At each node,
+        // the current winner plays the loser stored there. The loser of that match stays
+        // at the node, and the winner moves up.
+        for(int node = (losers.length + run) >>> 1; node > 0; node >>>= 1)
+        {
+            long opponentKey = loserKeys[node];
+            int opponent = losers[node];
+
+            if(beats(opponentKey, opponent, key, run))
+            {
+                loserKeys[node] = key;
+                losers[node] = run;
+                key = opponentKey;
+                run = opponent;
+            }
+        }
+
+        winner = run;
+        winnerKey = key;
+        return value;
+    }
+
+
+    // THE firstKey() METHOD
+    //
+    // Loads the first element of a run, when the tree is built.
+    private long firstKey(int run)
+    {
+        if(sources[run].advance())
+        {
+            liveRuns++;
+            return sources[run].head;
+        }
+
+        exhausted[run] = true;
+        return Long.MAX_VALUE;
+    }
+
+
+    // THE exhaust() METHOD
+    //
+    // Marks a run as having no elements left, and returns the key it plays on with.
+    private long exhaust(int run)
+    {
+        exhausted[run] = true;
+        liveRuns--;
+        return Long.MAX_VALUE;
+    }
+
+
+    // THE beats() METHOD
+    //
+    // Returns true if run1, with front element key1, should come out before run2. Most
+    // of the time, the keys decide. Only when they are equal is it checked whether run2
+    // is exhausted: a real Long.MAX_VALUE must still beat an exhausted run. On any other
+    // tie, run2 wins, so the current winner keeps its place.
+    private boolean beats(long key1, int run1, long key2, int run2)
+    {
+        return key1 < key2 || (key1 == key2 && exhausted[run2] && !exhausted[run1]);
+    }
+}
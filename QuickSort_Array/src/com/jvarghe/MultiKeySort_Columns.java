@@ -0,0 +1,346 @@
+package com.jvarghe;
+
+import java.lang.reflect.Array;
+
+
+// THE MultiKeySort_Columns CLASS
+//
+// Sorts records that are stored as COLUMNS (several primitive arrays of the same length,
+// where element i of every array belongs to record i) by SEVERAL keys at once. For
+// example, with the columns
+//
+//     int[] tenant, long[] timestamp, int[] id, double[] amount
+//
+// sort(3, tenant, timestamp, id, amount) sorts the records by tenant, then by timestamp
+// for records with the same tenant, then by id, and moves the amounts along with them.
+// This is LEXICOGRAPHIC order, the order a dictionary uses for words. No objects are
+// created per record: the sort works on one permutation (see ArgSort_Integers) and one
+// scratch array of longs.
+//
+// The sort goes one key column at a time, starting with the first one. This is an MSD
+// (Most Significant "Digit" first) sort, where each key column is one digit:
+//
+//     1. GATHER: The key of every record in the group is copied, in the group's current
+//        order, into the scratch array. Every key type is turned into a long that sorts
+//        the same way (see gather()), so there is only one sort for all of them.
+//     2. SORT: The scratch keys are sorted by QuickSort_Longs, with the permutation as
+//        their payload, so it is reordered along with them. Sorting a contiguous array
+//        of keys touches memory in order, instead of jumping to a random row of the
+//        column for every comparison.
+//     3. SPLIT: Records with equal keys now sit next to each other. Each such block is
+//        a new group, and it is sorted by the NEXT key column, the same way.
+//
+// The first group is the whole table. Blocks of one record are already in place, so
+// with unique keys the sort rarely gets past the second column.
+//
+// LOW CARDINALITY: The leading key often only has a handful of distinct values (a
+// tenant, a country, a status code). Quick Sort would then spend most of its time on
+// elements that are equal to each other. When the keys of a group span a range no larger
+// than half the group (the same rule RadixSort_Integers uses), the group is sorted by
+// COUNTING SORT instead, in a single O(n) pass with no comparisons at all.
+//
+// Rows whose keys are equal in every key column may end up in any order.
+//
+// MEMORY, on top of the columns themselves:
+//
+//     - sortPermutation() needs 12 bytes per record: 4 for the permutation it returns,
+//       and 8 for the scratch array of keys. A group that is counting sorted also needs
+//       two int counters per key value in its range. The range is at most half the
+//       group, so that is at most another 4 bytes per record of the group, and next to
+//       nothing for the low cardinality keys it is meant for.
+//     - sort() then hands the permutation to ArgSort_Integers.permuteColumns(), which
+//       needs one scratch array as long as the columns for every DISTINCT type of
+//       column (see there). The scratch keys can be collected by then.
+public class MultiKeySort_Columns
+{
+    // Counting sort is only worth setting up for groups of at least this many records,
+    // and only while its count array stays reasonably small.
+    private static final int COUNTING_SORT_MIN_SIZE = 1024;
+    private static final int COUNTING_SORT_MAX_RANGE = 1 << 24;
+
+    private final ArgSort_Integers argSort = new ArgSort_Integers();
+    private final QuickSort_Longs quickSort = new QuickSort_Longs();
+
+
+    // THE sort() METHOD
+    //
+    // Sorts the records in place by their first keyCount columns, in ascending order of
+    // each key. Every column, key or not, is reordered the same way. The key columns can
+    // be int[], long[], short[], char[], byte[], float[] or double[] arrays; the other
+    // columns can be any primitive arrays. Floating-point keys are ordered like
+    // Double.compare(): -0.0 before 0.0, and NaN after everything else.
+    public void sort(int keyCount, Object... columns) throws IllegalArgumentException
+    {
+        if(columns == null)
+        {
+            throw new IllegalArgumentException("The columns are null!");
+        }
+        if(keyCount < 1 || keyCount > columns.length)
+        {
+            throw new IllegalArgumentException("keyCount must be between 1 and the number of columns!");
+        }
+
+        Object[] keyColumns = new Object[keyCount];
+        System.arraycopy(columns, 0, keyColumns, 0, keyCount);
+
+        // permuteColumns() checks every column, including the non-key ones.
+        argSort.permuteColumns(sortPermutation(keyColumns), columns);
+    }
+
+
+    // THE sortPermutation() METHOD
+    //
+    // Returns the permutation that sorts the records by the given key columns, without
+    // changing any of them. Record permutation[i] is the one that belongs at index i.
+    public int[] sortPermutation(Object... keyColumns) throws IllegalArgumentException
+    {
+        if(keyColumns == null || keyColumns.length == 0)
+        {
+            throw new IllegalArgumentException("At least one key column must be provided!");
+        }
+
+        int size = validateKeyColumn(keyColumns[0], 0, -1);
+        for(int c = 1; c < keyColumns.length; c++)
+        {
+            validateKeyColumn(keyColumns[c], c, size);
+        }
+
+        int[] permutation = new int[size];
+        for(int i = 0; i < size; i++)
+        {
+            permutation[i] = i;
+        }
+
+        sortGroup(keyColumns, 0, permutation, new long[size], 0, size);
+        return permutation;
+    }
+
+
+    // THE validateKeyColumn() METHOD
+    //
+    // Checks that the column is a supported key array, and as long as the first one.
+    // Returns its length. size is -1 for the first column.
+    private static int validateKeyColumn(Object column, int index, int size) throws IllegalArgumentException
+    {
+        if(!(column instanceof int[] || column instanceof long[] || column instanceof short[]
+             || column instanceof char[] || column instanceof byte[] || column instanceof float[]
+             || column instanceof double[]))
+        {
+            throw new IllegalArgumentException("Key column " + index + " is not an int[], long[], short[], "
+                                               + "char[], byte[], float[] or double[] array!");
+        }
+
+        int length = Array.getLength(column);
+        if(size == -1 && length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+        if(size != -1 && length != size)
+        {
+            throw new IllegalArgumentException("Key column " + index + " is not as long as the first one!");
+        }
+
+        return length;
+    }
+
+
+    // THE sortGroup() METHOD
+    //
+    // Sorts the group permutation[from] to permutation[to - 1] by key column 'level',
+    // then splits it into blocks of equal keys and sorts each of them by the next
+    // column. scratch[i] holds the key of record permutation[i] for the current level.
+    private void sortGroup(Object[] keyColumns, int level, int[] permutation, long[] scratch,
+                           int from, int to)
+    {
+        gather(keyColumns[level], permutation, scratch, from, to);
+
+        if(!countingSort(permutation, scratch, from, to))
+        {
+            quickSort.sortByAscendingOrder(scratch, permutation, from, to);
+        }
+
+        if(level + 1 == keyColumns.length)
+        {
+            return;
+        }
+
+        // THE SPLIT: Every block of two or more equal keys is sorted by the next column.
+        // The next level overwrites scratch[] inside the block, but the scan below has
+        // already moved past it by then.
+        int blockStart = from;
+        for(int i = from + 1; i <= to; i++)
+        {
+            if(i == to || scratch[i] != scratch[blockStart])
+            {
+                if(i - blockStart > 1)
+                {
+                    sortGroup(keyColumns, level + 1, permutation, scratch, blockStart, i);
+                }
+                blockStart = i;
+            }
+        }
+    }
+
+
+    // THE gather() METHOD
+    //
+    // Sets scratch[i] to the key of record permutation[i], for i from 'from' to 'to' - 1,
+    // as a long that sorts in the same order as the key:
+    //
+    //     - Integer types are simply widened.
+    //     - A floating-point number's bits sort correctly for positive numbers, but
+    //       backwards for negative ones, because the sign is stored separately. Flipping
+    //       every bit except the sign of the negative ones fixes that. floatToIntBits()
+    //       and doubleToLongBits() turn every NaN into the same value, which ends up
+    //       after positive infinity, just like Double.compare() puts it.
+    private static void gather(Object column, int[] permutation, long[] scratch, int from, int to)
+    {
+        if(column instanceof int[])
+        {
+            int[] keys = (int[]) column;
+            for(int i = from; i < to; i++)
+            {
+                scratch[i] = keys[permutation[i]];
+            }
+        }
+        else if(column instanceof long[])
+        {
+            long[] keys = (long[]) column;
+            for(int i = from; i < to; i++)
+            {
+                scratch[i] = keys[permutation[i]];
+            }
+        }
+        else if(column instanceof short[])
+        {
+            short[] keys = (short[]) column;
+            for(int i = from; i < to; i++)
+            {
+                scratch[i] = keys[permutation[i]];
+            }
+        }
+        else if(column instanceof char[])
+        {
+            char[] keys = (char[]) column;
+            for(int i = from; i < to; i++)
+            {
+                scratch[i] = keys[permutation[i]];
+            }
+        }
+        else if(column instanceof byte[])
+        {
+            byte[] keys = (byte[]) column;
+            for(int i = from; i < to; i++)
+            {
+                scratch[i] = keys[permutation[i]];
+            }
+        }
+        else if(column instanceof float[])
+        {
+            float[] keys = (float[]) column;
+            for(int i = from; i < to; i++)
+            {
+                int bits = Float.floatToIntBits(keys[permutation[i]]);
+                scratch[i] = bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+            }
+        }
+        else
+        {
+            double[] keys = (double[]) column;
+            for(int i = from; i < to; i++)
+            {
+                long bits = Double.doubleToLongBits(keys[permutation[i]]);
+                scratch[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            }
+        }
+    }
+
+
+    // THE countingSort() METHOD
+    //
+    // If the group is large and its keys span a narrow range, sorts it by counting sort
+    // and returns true. Otherwise, does nothing and returns false.
+    //
+    // The records are moved IN PLACE, the way American flag sort does it: once the
+    // counts say where each key's bucket starts, every record that is not in its own
+    // bucket yet is swapped straight into the next free slot of the right one. That
+    // needs no second array of records, but it is not stable, which doesn't matter
+    // here: all the records of a group have the same keys in the columns before it.
+    private static boolean countingSort(int[] permutation, long[] scratch, int from, int to)
+    {
+        int size = to - from;
+        if(size < COUNTING_SORT_MIN_SIZE)
+        {
+            return false;
+        }
+
+        long min = scratch[from];
+        long max = scratch[from];
+        for(int i = from + 1; i < to; i++)
+        {
+            min = Math.min(min, scratch[i]);
+            max = Math.max(max, scratch[i]);
+        }
+
+        // max - min can overflow a long (for example, from Long.MIN_VALUE to
+        // Long.MAX_VALUE), but it is never negative, so it is compared as unsigned.
+        long range = max - min + 1;
+        if(Long.compareUnsigned(range, Math.min(size / 2, COUNTING_SORT_MAX_RANGE)) > 0 || range == 0)
+        {
+            return false;
+        }
+
+        // COUNT, then work out where each bucket starts. nextFree[bucket] is the next
+        // slot of the bucket that doesn't hold one of its own records yet.
+        int[] counts = new int[(int) range];
+        for(int i = from; i < to; i++)
+        {
+            counts[(int) (scratch[i] - min)]++;
+        }
+
+        int[] nextFree = new int[(int) range];
+        int bucketStart = from;
+        for(int bucket = 0; bucket < range; bucket++)
+        {
+            nextFree[bucket] = bucketStart;
+            bucketStart += counts[bucket];
+        }
+
+        // SWAP every record into its bucket. The record that is swapped out is looked
+        // at next, so every swap puts at least one record in its final place.
+        int bucketEnd = from;
+        for(int bucket = 0; bucket < range; bucket++)
+        {
+            bucketEnd += counts[bucket];
+            while(nextFree[bucket] < bucketEnd)
+            {
+                int target = (int) (scratch[nextFree[bucket]] - min);
+                if(target == bucket)
+                {
+                    nextFree[bucket]++;
+                }
+                else
+                {
+                    swapElements(permutation, scratch, nextFree[bucket], nextFree[target]++);
+                }
+            }
+        }
+
+        return true;
+    }
+
+
+    // THE swapElements() METHOD
+    //
+    // Swaps two keys, and the two records they belong to.
+    private static void swapElements(int[] permutation, long[] scratch, int index1, int index2)
+    {
+        long key = scratch[index1];
+        scratch[index1] = scratch[index2];
+        scratch[index2] = key;
+
+        int record = permutation[index1];
+        permutation[index1] = permutation[index2];
+        permutation[index2] = record;
+    }
+}
@@ -0,0 +1,186 @@
+package com.jvarghe;
+
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+
+// THE ParallelPartition CLASS
+//
+// parallelSortByAscendingOrder() sorts the partitions of the array on different
+// threads, but the very first partitioning pass still has to look at every element of
+// the array, and it does so on a single thread. Until that pass is done, every other
+// thread has nothing to do. The same goes, to a lesser extent, for the next few
+// levels. No matter how many cores there are, the sort can never be faster than those
+// first passes (this is Amdahl's law).
+//
+// This class partitions a large range with several threads at once. It is a
+// three-way partition, like QuickSort_Integers.partitionThreeWay(), but it is done in
+// four phases:
+//
+//     1. CLASSIFY: The range is cut into blocks. Each block is handed to its own task,
+//        which counts how many of its elements are less than, equal to and greater
+//        than the pivot.
+//     2. PREFIX SUM: From those counts, we can work out exactly where each block's
+//        "less", "equal" and "greater" elements have to go. For example, the "less"
+//        elements of block 3 go right after the "less" elements of blocks 0, 1 and 2.
+//        This is a running total (prefix sum) over the blocks, and it is cheap, since
+//        there are only a few dozen blocks.
+//     3. SCATTER: Each task copies the elements of its block to their destinations in
+//        a scratch array. As every task knows exactly where to write, the tasks never
+//        get in each other's way.
+//     4. COPY BACK: The partitioned range is copied from the scratch array back into
+//        the original array, again one block per task.
+//
+// Unlike the other partitioning schemes, this one is not in place: it needs a scratch
+// array as large as the range. parallelSortByAscendingOrder() creates one scratch
+// array for the whole sort, and every task uses the part of it that lines up with its
+// own range.
+final class ParallelPartition
+{
+    // The smallest block worth giving to a task of its own.
+    private static final int MIN_BLOCK_SIZE = 1 << 16;
+
+    // Cutting the range into a few blocks per thread evens out the load when some
+    // threads are slower than others.
+    private static final int BLOCKS_PER_THREAD = 4;
+
+
+    // This class only has static methods.
+    private ParallelPartition() { }
+
+
+    // THE partition() METHOD
+    //
+    // Partitions the elements between startIndex and endIndex (inclusive) around
+    // pivotValue. When the method returns, bounds[0] and bounds[1] hold the first and
+    // last index of the block of elements that are equal to the pivot, just like
+    // QuickSort_Integers.partitionThreeWay(). It must be called from inside a
+    // ForkJoinPool task.
+    static void partition(int[] array, int[] scratch, int startIndex, int endIndex,
+                          int pivotValue, int parallelism, int[] bounds)
+    {
+        int size = endIndex - startIndex + 1;
+        int blockCount = Math.max(1, Math.min(parallelism * BLOCKS_PER_THREAD, size / MIN_BLOCK_SIZE));
+        int blockSize = (size + blockCount - 1) / blockCount;
+        blockCount = (size + blockSize - 1) / blockSize;
+
+        // PHASE 1: CLASSIFY
+        int[] lessCounts = new int[blockCount];
+        int[] equalCounts = new int[blockCount];
+
+        runBlocks(blockCount, block ->
+        {
+            int blockStart = startIndex + block * blockSize;
+            int blockEnd = Math.min(blockStart + blockSize, endIndex + 1);
+
+            int less = 0;
+            int equal = 0;
+            for(int i = blockStart; i < blockEnd; i++)
+            {
+                int element = array[i];
+                if(element < pivotValue)
+                {
+                    less++;
+                }
+                else if(element == pivotValue)
+                {
+                    equal++;
+                }
+            }
+
+            lessCounts[block] = less;
+            equalCounts[block] = equal;
+        });
+
+        // PHASE 2: PREFIX SUM
+        //
+        // First, total up each kind of element, to find where the "equal" and
+        // "greater" sections of the range start. Then hand out the destinations: each
+        // block writes its elements of each kind right after those of the blocks
+        // before it.
+        int totalLess = 0;
+        int totalEqual = 0;
+        for(int block = 0; block < blockCount; block++)
+        {
+            totalLess += lessCounts[block];
+            totalEqual += equalCounts[block];
+        }
+
+        int[] lessOffsets = new int[blockCount];
+        int[] equalOffsets = new int[blockCount];
+        int[] greaterOffsets = new int[blockCount];
+
+        int nextLess = startIndex;
+        int nextEqual = startIndex + totalLess;
+        int nextGreater = startIndex + totalLess + totalEqual;
+        for(int block = 0; block < blockCount; block++)
+        {
+            int blockStart = startIndex + block * blockSize;
+            int blockLength = Math.min(blockSize, endIndex + 1 - blockStart);
+
+            lessOffsets[block] = nextLess;
+            equalOffsets[block] = nextEqual;
+            greaterOffsets[block] = nextGreater;
+
+            nextLess += lessCounts[block];
+            nextEqual += equalCounts[block];
+            nextGreater += blockLength - lessCounts[block] - equalCounts[block];
+        }
+
+        // PHASE 3: SCATTER
+        runBlocks(blockCount, block ->
+        {
+            int blockStart = startIndex + block * blockSize;
+            int blockEnd = Math.min(blockStart + blockSize, endIndex + 1);
+
+            int less = lessOffsets[block];
+            int equal = equalOffsets[block];
+            int greater = greaterOffsets[block];
+            for(int i = blockStart; i < blockEnd; i++)
+            {
+                int element = array[i];
+                if(element < pivotValue)
+                {
+                    scratch[less++] = element;
+                }
+                else if(element == pivotValue)
+                {
+                    scratch[equal++] = element;
+                }
+                else
+                {
+                    scratch[greater++] = element;
+                }
+            }
+        });
+
+        // PHASE 4: COPY BACK
+        runBlocks(blockCount, block ->
+        {
+            int blockStart = startIndex + block * blockSize;
+            int blockLength = Math.min(blockSize, endIndex + 1 - blockStart);
+
+            System.arraycopy(scratch, blockStart, array, blockStart, blockLength);
+        });
+
+        bounds[0] = startIndex + totalLess;
+        bounds[1] = startIndex + totalLess + totalEqual - 1;
+    }
+
+
+    // THE runBlocks() METHOD
+    //
+    // Runs the given work once for every block, with one Fork/Join task per block, and
+    // waits until all of them are done.
+    private static void runBlocks(int blockCount, IntConsumer work)
+    {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blockCount];
+        for(int block = 0; block < blockCount; block++)
+        {
+            int thisBlock = block;
+            tasks[block] = ForkJoinTask.adapt(() -> work.accept(thisBlock));
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+    }
+}
@@ -0,0 +1,127 @@
+package com.jvarghe;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+
+// THE PARALLEL SORT BENCHMARK
+//
+// This program measures how well parallelSortByAscendingOrder() scales with the number
+// of threads. It sorts the same array of random integers with introSortByAscendingOrder()
+// (one thread), and then with parallelSortByAscendingOrder() on pools of 1, 2, 4, 8 ...
+// threads, up to the number of processors the JVM can see. For each run it prints the
+// time taken and the speedup over the sequential sort.
+//
+// Command line arguments (both optional):
+//
+//     1. The array size. Defaults to 100 million elements.
+//     2. The parallel granularity. Defaults to QuickSort_Integers' own default.
+//
+// The program keeps two arrays of that size in memory, so give the JVM enough heap
+// (e.g. -Xmx2g for the default size). Every run is repeated a few times and the best
+// time is reported, which takes care of most of the JIT warm-up.
+public class ParallelSortBenchmark
+{
+    private static final int DEFAULT_SIZE = 100_000_000;
+    private static final int REPETITIONS = 3;
+
+
+    public static void main(String[] args)
+    {
+        int size = DEFAULT_SIZE;
+        if(args.length > 0)
+        {
+            size = Integer.parseInt(args[0]);
+        }
+
+        QuickSort_Integers qsObject = new QuickSort_Integers();
+        if(args.length > 1)
+        {
+            qsObject.setParallelGranularity(Integer.parseInt(args[1]));
+        }
+
+        int[] input = new int[size];
+        Random rand = new Random(42);
+        for(int i = 0; i < size; i++)
+        {
+            input[i] = rand.nextInt();
+        }
+
+        int[] array = new int[size];
+
+        System.out.println(String.format("Sorting %,d random integers (granularity %,d)",
+                size, qsObject.getParallelGranularity()));
+        System.out.println(String.format("    %-12s %10s %10s", "THREADS", "TIME (ms)", "SPEEDUP"));
+
+        // The sequential baseline.
+        long bestTime = Long.MAX_VALUE;
+        for(int repetition = 0; repetition < REPETITIONS; repetition++)
+        {
+            System.arraycopy(input, 0, array, 0, size);
+
+            long startTime = System.nanoTime();
+            qsObject.introSortByAscendingOrder(array);
+            bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+        }
+
+        long sequentialTime = bestTime;
+        printRow("SEQUENTIAL", sequentialTime, sequentialTime);
+
+        // The parallel runs, doubling the number of threads each time.
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for(int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads))
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+
+            bestTime = Long.MAX_VALUE;
+            for(int repetition = 0; repetition < REPETITIONS; repetition++)
+            {
+                System.arraycopy(input, 0, array, 0, size);
+
+                long startTime = System.nanoTime();
+                qsObject.parallelSortByAscendingOrder(array, pool);
+                bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+            }
+
+            pool.shutdown();
+            checkSorted(array);
+            printRow(String.valueOf(threads), bestTime, sequentialTime);
+        }
+    }
+
+
+    // THE nextThreadCount() METHOD
+    //
+    // Doubles the thread count, but makes sure the last run uses exactly maxThreads
+    // threads, even when maxThreads is not a power of two.
+    private static int nextThreadCount(int threads, int maxThreads)
+    {
+        if(threads == maxThreads)
+        {
+            return maxThreads + 1;
+        }
+
+        return Math.min(threads * 2, maxThreads);
+    }
+
+
+    private static void printRow(String label, long time, long sequentialTime)
+    {
+        System.out.println(String.format("    %-12s %10.1f %9.2fx", label, time / 1_000_000.0,
+                (double) sequentialTime / time));
+    }
+
+
+    private static void checkSorted(int[] array)
+    {
+        for(int i = 1; i < array.length; i++)
+        {
+            if(array[i - 1] > array[i])
+            {
+                throw new IllegalStateException("The array was not sorted: "
+                        + Arrays.toString(Arrays.copyOfRange(array, i - 1, i + 1)));
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.jvarghe;
+
+import java.util.Arrays;
+import java.util.Random;
+
+
+// THE PARTITION BENCHMARK
+//
+// This program compares the partitioning schemes in QuickSort_Integers by how much work
+// they do. Every scheme sorts exactly the same inputs, and the program prints the
+// number of element comparisons and swaps each one needed, along with the time it
+// took. The original sortByAscendingOrder() method is included as the baseline. The
+// counts come from CountingQuickSort_Integers, which sorts exactly like
+// QuickSort_Integers, but keeps count as it goes.
+//
+// Four kinds of input are used:
+//
+//     RANDOM:   Random integers.
+//     SORTED:   Already in ascending order.
+//     REVERSED: In descending order.
+//     SAWTOOTH: Repeated ascending runs (0, 1, 2 ... 999, 0, 1, 2 ... 999, ...).
+//               This input contains lots of duplicate values.
+//
+// The array size can be passed in as the first command line argument. It defaults to
+// one million elements. The timings are only a rough guide, as there is no proper
+// warm-up; the comparison and swap counts are the interesting part. Every engine uses
+// a seeded pivot strategy, so the counts are the same from one run to the next.
+public class PartitionBenchmark
+{
+    private static final int DEFAULT_SIZE = 1_000_000;
+    private static final int SAWTOOTH_PERIOD = 1000;
+    private static final long PIVOT_SEED = 42;
+
+
+    public static void main(String[] args)
+    {
+        int size = DEFAULT_SIZE;
+        if(args.length > 0)
+        {
+            size = Integer.parseInt(args[0]);
+        }
+
+        String[] inputNames = { "RANDOM", "SORTED", "REVERSED", "SAWTOOTH" };
+
+        for(String inputName : inputNames)
+        {
+            int[] input = createInput(inputName, size);
+
+            System.out.println(String.format("%s INPUT (%,d elements)", inputName, size));
+            System.out.println(String.format("    %-12s %18s %18s %10s",
+                    "ENGINE", "COMPARISONS", "SWAPS", "TIME (ms)"));
+
+            // The baseline: the original, recursive quickSort().
+            runEngine("ORIGINAL", null, input);
+
+            for(PartitionScheme scheme : PartitionScheme.values())
+            {
+                runEngine(scheme.name(), scheme, input);
+            }
+
+            System.out.println();
+        }
+    }
+
+
+    // THE runEngine() METHOD
+    //
+    // Sorts a copy of the input with the given partition scheme and prints a row of
+    // results. A null scheme means the original sortByAscendingOrder() method.
+    private static void runEngine(String engineName, PartitionScheme scheme, int[] input)
+    {
+        int[] array = Arrays.copyOf(input, input.length);
+        CountingQuickSort_Integers qsObject = new CountingQuickSort_Integers(PivotStrategy.seeded(PIVOT_SEED));
+
+        long startTime = System.nanoTime();
+        if(scheme == null)
+        {
+            qsObject.sortByAscendingOrder(array);
+        }
+        else
+        {
+            qsObject.introSortByAscendingOrder(array, scheme);
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+
+        // Make sure the engine actually sorted the array before trusting its numbers.
+        for(int i = 1; i < array.length; i++)
+        {
+            if(array[i - 1] > array[i])
+            {
+                throw new IllegalStateException(engineName + " did not sort the array!");
+            }
+        }
+
+        System.out.println(String.format("    %-12s %,18d %,18d %10.1f", engineName,
+                qsObject.getComparisonCount(), qsObject.getSwapCount(),
+                elapsedTime / 1_000_000.0));
+    }
+
+
+    // THE createInput() METHOD
+    //
+    // Builds one of the four kinds of input. The random input always uses the same
+    // seed, so every run of the benchmark sorts the same numbers.
+    private static int[] createInput(String inputName, int size)
+    {
+        int[] array = new int[size];
+        Random rand = new Random(42);
+
+        for(int i = 0; i < size; i++)
+        {
+            switch(inputName)
+            {
+                case "RANDOM":
+                    array[i] = rand.nextInt();
+                    break;
+                case "SORTED":
+                    array[i] = i;
+                    break;
+                case "REVERSED":
+                    array[i] = size - i;
+                    break;
+                default:
+                    array[i] = i % SAWTOOTH_PERIOD;
+                    break;
+            }
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,59 @@
+package com.jvarghe;
+
+
+// THE PartitionScheme ENUM
+//
+// The partitioning step is the heart of Quick Sort, and there is more than one way to
+// do it. This enum lets the caller pick which partitioning scheme 
+// QuickSort_Integers.introSortByAscendingOrder() should use for a particular call. 
+// All the schemes produce the same sorted array; they only differ in how fast they 
+// get there on different kinds of input.
+public enum PartitionScheme
+{
+    // LOMUTO PARTITIONING
+    //
+    // The scheme used by QuickSort_Integers.partition(). It splits the sort space into 
+    // two partitions: elements LESS THAN OR EQUAL TO the pivot and elements GREATER 
+    // than the pivot. It is simple and fast on random data, but every element equal to
+    // the pivot ends up in the left partition. If the array only holds a few distinct 
+    // values, the partitions become very lopsided.
+    LOMUTO,
+
+    // THREE-WAY (DUTCH NATIONAL FLAG) PARTITIONING
+    //
+    // Splits the sort space into THREE partitions: elements less than the pivot, 
+    // elements equal to the pivot and elements greater than the pivot. The middle 
+    // block is already in its final position, so it is skipped during recursion. On 
+    // arrays with few distinct values, every partitioning pass removes all copies of 
+    // one value, so the sort finishes in close to linear time.
+    THREE_WAY,
+
+    // DUAL-PIVOT (YAROSLAVSKIY) PARTITIONING
+    //
+    // Uses TWO pivots to split the sort space into three partitions: elements less 
+    // than the left pivot, elements between the two pivots and elements greater than 
+    // the right pivot. Splitting three ways per pass means fewer passes over the 
+    // array, and fewer swaps overall. This is the scheme used by the JDK's own 
+    // Arrays.sort() for primitive arrays.
+    DUAL_PIVOT,
+
+    // BLOCK (BLOCKQUICKSORT) PARTITIONING
+    //
+    // Produces the same two partitions as LOMUTO, but avoids the if-statement that 
+    // decides which side each element belongs to. Misplaced elements are first 
+    // collected into small buffers of offsets, and then swapped in bulk. On random 
+    // data this saves the CPU from guessing (and half the time, mispredicting) the 
+    // outcome of every single comparison.
+    BLOCK,
+
+    // VECTOR (SIMD) PARTITIONING
+    //
+    // Compares a whole vector of elements (8 on AVX2 hardware, 16 on AVX-512) with the
+    // pivot in a single instruction, using Java's Vector API, and stores the smaller 
+    // and larger elements to the two sides of the sort space in bulk. It needs the 
+    // jdk.incubator.vector module (see src-vector/com/jvarghe/VectorPartition.java). 
+    // When the module, the compiled class or the hardware support is missing, it falls
+    // back to BLOCK partitioning; QuickSort_Integers.isVectorPartitionAvailable() 
+    // tells you which one is in use.
+    VECTOR
+}
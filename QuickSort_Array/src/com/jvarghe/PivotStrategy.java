@@ -0,0 +1,115 @@
+package com.jvarghe;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+// THE PivotStrategy INTERFACE
+//
+// Quick Sort's performance depends largely on how the pivot is chosen (see Section 3 of
+// 'Quick Sort.txt'). This interface lets the caller decide how QuickSort_Integers picks
+// its pivots. Pass one of the strategies below to the QuickSort_Integers constructor.
+//
+// A strategy is given the array and the boundaries of the sort space (low and high, 
+// both inclusive), and returns the INDEX of the element that should be used as the 
+// pivot. It must not modify the array. Strategies are called once for every 
+// partitioning pass, which means millions of times for a large array, so none of the
+// strategies below allocate any objects when they are called.
+public interface PivotStrategy
+{
+    int selectPivot(int[] array, int low, int high);
+
+
+    // Sort spaces smaller than this use median-of-three instead of Tukey's ninther.
+    int NINTHER_THRESHOLD = 40;
+
+
+    // RANDOM PIVOT
+    //
+    // Picks a random index between low and high, inclusive. This is the default 
+    // strategy. A random pivot makes the worst case extremely unlikely, whatever the 
+    // input looks like.
+    //
+    // It uses ThreadLocalRandom, which keeps one random number generator per thread. 
+    // Nothing is allocated per call, and threads that sort at the same time never 
+    // compete for a shared seed, the way they would with a shared java.util.Random.
+    // nextInt(origin, bound) returns a number between origin (inclusive) and bound 
+    // (exclusive), which is why 1 is added to high.
+    PivotStrategy RANDOM = (array, low, high) -> 
+            ThreadLocalRandom.current().nextInt(low, high + 1);
+
+
+    // MEDIAN OF THREE
+    //
+    // Looks at the first, middle and last elements of the sort space and picks the one
+    // whose value lies between the other two. This is completely deterministic, and 
+    // it performs very well on input that is already sorted or reverse sorted.
+    PivotStrategy MEDIAN_OF_THREE = (array, low, high) -> 
+            medianOfThree(array, low, low + (high - low) / 2, high);
+
+
+    // TUKEY'S NINTHER
+    //
+    // A "median of medians of three". Nine elements, spread evenly over the sort space,
+    // are split into three groups of three. The median of each group is found, and then
+    // the median of those three medians is picked. It is a much better estimate of the
+    // real median than median-of-three, at the cost of a few more comparisons, so it 
+    // only pays off on large sort spaces. Smaller ones fall back to median-of-three.
+    PivotStrategy NINTHER = (array, low, high) -> 
+    {
+        int size = high - low + 1;
+        int middle = low + (high - low) / 2;
+
+        if(size < NINTHER_THRESHOLD)
+        {
+            return medianOfThree(array, low, middle, high);
+        }
+
+        int step = size / 8;
+        int first = medianOfThree(array, low, low + step, low + 2 * step);
+        int second = medianOfThree(array, middle - step, middle, middle + step);
+        int third = medianOfThree(array, high - 2 * step, high - step, high);
+
+        return medianOfThree(array, first, second, third);
+    };
+
+
+    // SEEDED RANDOM PIVOT
+    //
+    // Works like RANDOM, but the random numbers come from a generator that starts from
+    // the given seed. Two sorts with the same seed on the same input pick exactly the 
+    // same pivots, which makes benchmark runs reproducible. See SeededPivotStrategy.java
+    // for the details; note that, unlike the other strategies, it must not be shared 
+    // between threads.
+    static PivotStrategy seeded(long seed)
+    {
+        return new SeededPivotStrategy(seed);
+    }
+
+
+    // THE medianOfThree() METHOD
+    //
+    // Returns whichever of the three indices points to the median of the three values.
+    private static int medianOfThree(int[] array, int index1, int index2, int index3)
+    {
+        int value1 = array[index1];
+        int value2 = array[index2];
+        int value3 = array[index3];
+
+        if(value1 < value2)
+        {
+            if(value2 < value3)
+            {
+                return index2;
+            }
+            return value1 < value3 ? index3 : index1;
+        }
+        else
+        {
+            if(value1 < value3)
+            {
+                return index1;
+            }
+            return value2 < value3 ? index3 : index2;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jvarghe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+// THE QuickSortFamilyGenerator CLASS
+//
+// QuickSort_Integers only sorts int[] arrays. Java generics cannot be used to write a
+// single sort for all the primitive types (a type parameter can only stand for an
+// object type, so long[] would have to become Long[], and every element would be
+// boxed). Instead, the sort is written ONCE, as a template, and this program stamps
+// out one class per primitive type from it:
+//
+//     QuickSort_Longs, QuickSort_Doubles, QuickSort_Floats, QuickSort_Shorts,
+//     QuickSort_Chars and QuickSort_Bytes.
+//
+// There is deliberately no int member: QuickSort_Integers stays hand-written, with its
+// configurable pivots and partition schemes, and the template has none of those. See
+// the template's header for how the two differ.
+//
+// The template is 'QuickSort_Primitive.template', which lives next to this file. It
+// uses three placeholders:
+//
+//     $type$:   The primitive type, e.g. double.
+//     $Boxed$:  Its wrapper class, e.g. Double. Only its static compare() method is
+//               used, which takes primitive arguments.
+//     $Suffix$: The end of the class name, e.g. Doubles.
+//
+// Because every class comes from the same template, a fix made in the template reaches
+// the whole family, and their behaviour cannot drift apart. Never edit the generated
+// files by hand; edit the template and run this program again. It takes the source
+// directory as its only (optional) argument, and defaults to the directory this file
+// is in, relative to the repository root.
+//
+// VERIFICATION: This program only fills in the template; it can't tell whether the 
+// result sorts correctly. Once the generated classes have been compiled, run 
+// QuickSortFamilyVerifier.java. It sorts every member of the family against 
+// Arrays.sort(), including the float and double values that are easy to get wrong 
+// (NaN, -0.0 and the subnormals), and fails loudly on the first difference.
+public class QuickSortFamilyGenerator
+{
+    private static final String DEFAULT_SOURCE_DIRECTORY = "QuickSort_Array/src/com/jvarghe";
+    private static final String TEMPLATE_FILE = "QuickSort_Primitive.template";
+
+    // { type, wrapper class, class name suffix }
+    private static final String[][] FAMILY =
+    {
+        { "long",   "Long",      "Longs"   },
+        { "double", "Double",    "Doubles" },
+        { "float",  "Float",     "Floats"  },
+        { "short",  "Short",     "Shorts"  },
+        { "char",   "Character", "Chars"   },
+        { "byte",   "Byte",      "Bytes"   }
+    };
+
+
+    public static void main(String[] args) throws IOException
+    {
+        Path sourceDirectory = Paths.get(args.length > 0 ? args[0] : DEFAULT_SOURCE_DIRECTORY);
+        String template = new String(Files.readAllBytes(sourceDirectory.resolve(TEMPLATE_FILE)),
+                                     StandardCharsets.UTF_8);
+
+        for(String[] member : FAMILY)
+        {
+            String source = template.replace("$type$", member[0])
+                                    .replace("$Boxed$", member[1])
+                                    .replace("$Suffix$", member[2]);
+
+            Path outputFile = sourceDirectory.resolve("QuickSort_" + member[2] + ".java");
+            Files.write(outputFile, source.getBytes(StandardCharsets.UTF_8));
+
+            System.out.println("Generated " + outputFile);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.jvarghe;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Random;
+
+
+// THE QuickSortFamilyVerifier CLASS
+//
+// This program checks the classes that QuickSortFamilyGenerator stamps out of
+// 'QuickSort_Primitive.template'. Run it every time the template changes, after the
+// generated classes have been compiled. Every member of the family sorts the same
+// inputs as java.util.Arrays.sort(), and the two results have to be identical, element
+// for element. All three overloads of sortByAscendingOrder() are checked: the whole 
+// array, a range in the middle of it (which must leave the rest of the array alone), 
+// and the same range with a payload of indices. The payload must end up as a 
+// permutation that puts the original elements in the sorted order.
+//
+// The inputs come in a range of sizes, from a single element up to tens of thousands,
+// so that both Insertion Sort and the partitioning loop are used, and in these shapes:
+//
+//     RANDOM:    Random values.
+//     FEW:       Only five distinct values, so most elements equal the pivot.
+//     SORTED:    Already in ascending order.
+//     REVERSED:  In descending order.
+//     ORGAN:     Up, then down again (0, 1, 2 ... n/2 ... 2, 1, 0).
+//     EQUAL:     Every element is the same.
+//     SPECIAL:   For float and double, nothing but the values that the < operator
+//                can't sort: NaN (including one with a non-standard bit pattern),
+//                -0.0 and 0.0, the subnormals, the infinities, and the largest and
+//                smallest finite values. For the other types, a few distinct values.
+//
+// Floats and doubles get a sprinkling of the special values in every other shape as
+// well. If any result differs, the program throws an IllegalStateException naming the
+// class, the input and the size.
+public class QuickSortFamilyVerifier
+{
+    private static final String[] SHAPES = { "RANDOM", "FEW", "SORTED", "REVERSED", "ORGAN", "EQUAL", "SPECIAL" };
+    private static final int[] SIZES = { 1, 2, 3, 16, 17, 31, 100, 1_000, 50_000 };
+
+    // Every input value that is a multiple of SPECIAL_STRIDE becomes one of the special
+    // values when it is turned into a float or a double.
+    private static final int SPECIAL_STRIDE = 5;
+
+    private static final double[] SPECIAL_DOUBLES =
+    {
+        Double.NaN, Double.longBitsToDouble(0x7ff8_0000_0000_0001L), -0.0, 0.0,
+        Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL / 2, -Double.MIN_NORMAL / 3,
+        Double.MIN_NORMAL, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        Double.MAX_VALUE, -Double.MAX_VALUE, 1.0, -1.0
+    };
+
+    private static final float[] SPECIAL_FLOATS =
+    {
+        Float.NaN, Float.intBitsToFloat(0x7fc0_0001), -0.0f, 0.0f,
+        Float.MIN_VALUE, -Float.MIN_VALUE, Float.MIN_NORMAL / 2, -Float.MIN_NORMAL / 3,
+        Float.MIN_NORMAL, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY,
+        Float.MAX_VALUE, -Float.MAX_VALUE, 1.0f, -1.0f
+    };
+
+
+    public static void main(String[] args)
+    {
+        Member<?>[] family =
+        {
+            new Member<long[]>("QuickSort_Longs")
+            {
+                long[] create(long[] values)                { return values.clone(); }
+                void sort(long[] array)                     { new QuickSort_Longs().sortByAscendingOrder(array); }
+                void sort(long[] array, int from, int to)   { new QuickSort_Longs().sortByAscendingOrder(array, from, to); }
+                void sort(long[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Longs().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(long[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(long[] array1, long[] array2) { return Arrays.equals(array1, array2); }
+            },
+            new Member<double[]>("QuickSort_Doubles")
+            {
+                double[] create(long[] values)
+                {
+                    double[] array = new double[values.length];
+                    for(int i = 0; i < values.length; i++)
+                    {
+                        array[i] = values[i] % SPECIAL_STRIDE == 0
+                                   ? SPECIAL_DOUBLES[Math.floorMod(values[i] / SPECIAL_STRIDE, SPECIAL_DOUBLES.length)]
+                                   : values[i] / 3.0;
+                    }
+                    return array;
+                }
+                void sort(double[] array)                       { new QuickSort_Doubles().sortByAscendingOrder(array); }
+                void sort(double[] array, int from, int to)     { new QuickSort_Doubles().sortByAscendingOrder(array, from, to); }
+                void sort(double[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Doubles().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(double[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(double[] array1, double[] array2)
+                {
+                    // Arrays.equals() treats all NaNs as equal, but tells -0.0 and 0.0 apart.
+                    return Arrays.equals(array1, array2);
+                }
+            },
+            new Member<float[]>("QuickSort_Floats")
+            {
+                float[] create(long[] values)
+                {
+                    float[] array = new float[values.length];
+                    for(int i = 0; i < values.length; i++)
+                    {
+                        array[i] = values[i] % SPECIAL_STRIDE == 0
+                                   ? SPECIAL_FLOATS[Math.floorMod(values[i] / SPECIAL_STRIDE, SPECIAL_FLOATS.length)]
+                                   : (float) (values[i] / 3.0);
+                    }
+                    return array;
+                }
+                void sort(float[] array)                       { new QuickSort_Floats().sortByAscendingOrder(array); }
+                void sort(float[] array, int from, int to)     { new QuickSort_Floats().sortByAscendingOrder(array, from, to); }
+                void sort(float[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Floats().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(float[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(float[] array1, float[] array2)  { return Arrays.equals(array1, array2); }
+            },
+            new Member<short[]>("QuickSort_Shorts")
+            {
+                short[] create(long[] values)
+                {
+                    short[] array = new short[values.length];
+                    for(int i = 0; i < values.length; i++)
+                    {
+                        array[i] = (short) values[i];
+                    }
+                    return array;
+                }
+                void sort(short[] array)                       { new QuickSort_Shorts().sortByAscendingOrder(array); }
+                void sort(short[] array, int from, int to)     { new QuickSort_Shorts().sortByAscendingOrder(array, from, to); }
+                void sort(short[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Shorts().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(short[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(short[] array1, short[] array2)  { return Arrays.equals(array1, array2); }
+            },
+            new Member<char[]>("QuickSort_Chars")
+            {
+                char[] create(long[] values)
+                {
+                    char[] array = new char[values.length];
+                    for(int i = 0; i < values.length; i++)
+                    {
+                        array[i] = (char) values[i];
+                    }
+                    return array;
+                }
+                void sort(char[] array)                       { new QuickSort_Chars().sortByAscendingOrder(array); }
+                void sort(char[] array, int from, int to)     { new QuickSort_Chars().sortByAscendingOrder(array, from, to); }
+                void sort(char[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Chars().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(char[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(char[] array1, char[] array2)   { return Arrays.equals(array1, array2); }
+            },
+            new Member<byte[]>("QuickSort_Bytes")
+            {
+                byte[] create(long[] values)
+                {
+                    byte[] array = new byte[values.length];
+                    for(int i = 0; i < values.length; i++)
+                    {
+                        array[i] = (byte) values[i];
+                    }
+                    return array;
+                }
+                void sort(byte[] array)                       { new QuickSort_Bytes().sortByAscendingOrder(array); }
+                void sort(byte[] array, int from, int to)     { new QuickSort_Bytes().sortByAscendingOrder(array, from, to); }
+                void sort(byte[] array, int[] payload, int from, int to)
+                {
+                    new QuickSort_Bytes().sortByAscendingOrder(array, payload, from, to);
+                }
+                void reference(byte[] array, int from, int to) { Arrays.sort(array, from, to); }
+                boolean equal(byte[] array1, byte[] array2)   { return Arrays.equals(array1, array2); }
+            }
+        };
+
+        Random rand = new Random(42);
+        for(Member<?> member : family)
+        {
+            for(String shape : SHAPES)
+            {
+                for(int size : SIZES)
+                {
+                    member.verify(shape, createInput(shape, size, rand));
+                }
+            }
+
+            System.out.println(member.name + ": matches Arrays.sort() on every input.");
+        }
+    }
+
+
+    // THE createInput() METHOD
+    //
+    // Builds one input as longs. Each member of the family turns them into its own type.
+    private static long[] createInput(String shape, int size, Random rand)
+    {
+        long[] values = new long[size];
+
+        for(int i = 0; i < size; i++)
+        {
+            switch(shape)
+            {
+                case "RANDOM":
+                    values[i] = rand.nextLong();
+                    break;
+                case "FEW":
+                    values[i] = rand.nextInt(5) - 2;
+                    break;
+                case "SORTED":
+                    values[i] = i;
+                    break;
+                case "REVERSED":
+                    values[i] = size - i;
+                    break;
+                case "ORGAN":
+                    values[i] = Math.min(i, size - i);
+                    break;
+                case "EQUAL":
+                    values[i] = 7;
+                    break;
+                default:
+                    values[i] = (long) SPECIAL_STRIDE * rand.nextInt(SPECIAL_DOUBLES.length);
+                    break;
+            }
+        }
+
+        return values;
+    }
+
+
+    // THE Member CLASS
+    //
+    // One member of the family, and the Arrays.sort() overloads for the same type. 'A'
+    // is the array type, e.g. double[].
+    private abstract static class Member<A>
+    {
+        final String name;
+
+
+        // Constructor
+        Member(String name)
+        {
+            this.name = name;
+        }
+
+
+        abstract A create(long[] values);
+
+        abstract void sort(A array);
+
+        abstract void sort(A array, int fromIndex, int toIndex);
+
+        abstract void sort(A array, int[] payload, int fromIndex, int toIndex);
+
+        abstract void reference(A array, int fromIndex, int toIndex);
+
+        abstract boolean equal(A array1, A array2);
+
+
+        // THE verify() METHOD
+        //
+        // Sorts the input, as a whole and then just the range from a quarter to two
+        // thirds of the way in, with and without a payload, and compares the results 
+        // with Arrays.sort().
+        void verify(String shape, long[] values)
+        {
+            int length = values.length;
+
+            A actual = create(values);
+            A expected = create(values);
+            sort(actual);
+            reference(expected, 0, length);
+            check(actual, expected, shape, length, "the whole array");
+
+            int fromIndex = length / 4;
+            int toIndex = length - length / 3;
+            actual = create(values);
+            expected = create(values);
+            sort(actual, fromIndex, toIndex);
+            reference(expected, fromIndex, toIndex);
+            check(actual, expected, shape, length, "the range " + fromIndex + " to " + toIndex);
+
+            // The payload starts out as the index of each element. Afterwards, moving 
+            // the original elements by it has to give the sorted array as well.
+            int[] payload = new int[length];
+            for(int i = 0; i < length; i++)
+            {
+                payload[i] = i;
+            }
+
+            A original = create(values);
+            actual = create(values);
+            sort(actual, payload, fromIndex, toIndex);
+            check(actual, expected, shape, length, "the range " + fromIndex + " to " + toIndex 
+                                                   + " with a payload");
+
+            boolean[] seen = new boolean[length];
+            A moved = create(values);
+            for(int i = 0; i < length; i++)
+            {
+                if(seen[payload[i]] || (payload[i] != i && (i < fromIndex || i >= toIndex)))
+                {
+                    throw new IllegalStateException(name + " scrambled the payload of the " + shape 
+                                                    + " input of " + length + " elements!");
+                }
+                seen[payload[i]] = true;
+                Array.set(moved, i, Array.get(original, payload[i]));
+            }
+            check(moved, expected, shape, length, "the payload of the range " + fromIndex + " to " + toIndex);
+        }
+
+
+        private void check(A actual, A expected, String shape, int length, String what)
+        {
+            if(!equal(actual, expected))
+            {
+                throw new IllegalStateException(name + " does not match Arrays.sort() when sorting " + what
+                                                + " of the " + shape + " input of " + length + " elements!");
+            }
+        }
+    }
+}
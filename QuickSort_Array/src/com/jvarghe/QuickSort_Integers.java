@@ -1,122 +1,1235 @@
 package com.jvarghe;
 
-import java.util.Random;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 // This implementation of Quick Sort is based on Code2Bits's implementation. See Source
 // 6 in Quick Sort.txt.
 public class QuickSort_Integers 
 {
+    // Sub-arrays with this many elements or fewer are finished with a sorting network 
+    // (see SortingNetworks.java), instead of being partitioned any further.
+    private static final int SMALL_SORT_THRESHOLD = SortingNetworks.MAX_SIZE;
+
+    // The number of elements partitionBlock() examines at a time on each side.
+    private static final int BLOCK_SIZE = 128;
+
+    // THE bounds[] ARRAY
+    //
+    // The partition methods report their results through a small int array, which is 
+    // created once per sort (see introSortByAscendingOrder()). The first two slots 
+    // hold the boundaries of the block that is already in its final position. The rest
+    // of the array is the offset buffers used by partitionBlock(): BLOCK_SIZE slots for
+    // the left side, starting at LEFT_OFFSETS, and BLOCK_SIZE for the right side, 
+    // starting at RIGHT_OFFSETS.
+    private static final int LEFT_OFFSETS = 2;
+    private static final int RIGHT_OFFSETS = LEFT_OFFSETS + BLOCK_SIZE;
+    private static final int BOUNDS_LENGTH = RIGHT_OFFSETS + BLOCK_SIZE;
+
+    // THE VECTOR PARTITION
+    //
+    // VectorPartition lives in a source folder of its own (src-vector), as it needs the
+    // jdk.incubator.vector module to compile. This class only ever reaches it through a
+    // MethodHandle, so src compiles and runs without the module. VECTOR_PARTITION is 
+    // null when PartitionScheme.VECTOR can't use SIMD instructions on this JVM and CPU.
+    // See isVectorPartitionAvailable() and findVectorPartition().
+    private static final MethodHandle VECTOR_PARTITION = findVectorPartition();
+    private static final boolean VECTOR_PARTITION_AVAILABLE = VECTOR_PARTITION != null;
+    private static final int VECTOR_PARTITION_MIN_SIZE = getVectorPartitionMinSize();
+
+
+    // The strategy used by getPivot() to choose pivots. See PivotStrategy.java.
+    private final PivotStrategy pivotStrategy;
+
+    // PARALLEL GRANULARITY
+    //
+    // parallelSortByAscendingOrder() keeps splitting the array into tasks that can run
+    // on different threads until a partition has this many elements or fewer. Those 
+    // partitions are sorted sequentially, as handing them to another thread would 
+    // cost more than it saves. 
+    private static final int DEFAULT_PARALLEL_GRANULARITY = 8192;
+    private int parallelGranularity = DEFAULT_PARALLEL_GRANULARITY;
+
+    // PARALLEL PARTITION THRESHOLD
+    //
+    // During a parallel sort, partitions with at least this many elements are 
+    // partitioned by several threads at once (see ParallelPartition.java). In practice
+    // that means the top few levels of the sort.
+    private static final int PARALLEL_PARTITION_THRESHOLD = 1 << 20;
+
+
+    // Constructors
+    //
+    // The default constructor picks random pivots (PivotStrategy.RANDOM). The second 
+    // constructor lets the caller choose a different pivot strategy, for example a 
+    // seeded one to make benchmark runs reproducible.
+    public QuickSort_Integers() 
+    { 
+        this(PivotStrategy.RANDOM);
+    }
+
+
+    public QuickSort_Integers(PivotStrategy pivotStrategy) throws IllegalArgumentException
+    {
+        if(pivotStrategy == null)
+        {
+            throw new IllegalArgumentException("A pivot strategy must be provided!");
+        }
+
+        this.pivotStrategy = pivotStrategy;
+    }
+
+
     // THE sortByAscendingOrder() METHOD
     // 
     // This is the method that sorts the array in Ascending Order by calling the 
     // Quick Sort algorithm. It tests the array to make sure it meets Quick Sort's
     // requirements.
     public void sortByAscendingOrder(int[] array) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        // Call the Quick Sort method and pass in the array, providing the first and 
+        // last indices (to designate the sort space). 
+        quickSort(array, 0, array.length - 1);
+    }
+
+
+    // THE introSortByAscendingOrder() METHOD
+    //
+    // This is the "production" version of sortByAscendingOrder(). It sorts the array in
+    // ascending order too, but it uses a variant of Quick Sort called INTROSORT 
+    // (introspective sort), which guards against the two weaknesses of the plain 
+    // quickSort() method below: 
+    //
+    //     1. quickSort() recurses into BOTH partitions. If the pivots are unlucky, the 
+    //        recursion can get as deep as the array is long, and a large enough array 
+    //        will overflow the call stack.
+    //     2. If the pivots keep being unlucky, quickSort() degrades to O(n^2).
+    //
+    // Introsort keeps track of how deep the recursion has gone. Once it passes 
+    // 2 * log2(n) levels, the pivots have clearly been bad, so the remaining sub-array 
+    // is handed to Heap Sort, which is O(n log n) no matter what the input looks like. 
+    // Both versions are kept side by side, so they can be compared on the same inputs.
+    //
+    // This overload uses Lomuto partitioning, the same scheme as quickSort().
+    public void introSortByAscendingOrder(int[] array) throws IllegalArgumentException
+    {
+        introSortByAscendingOrder(array, PartitionScheme.LOMUTO);
+    }
+
+
+    // This overload lets the caller choose the partitioning scheme. See 
+    // PartitionScheme.java for a description of each one. If the array is known to 
+    // contain lots of duplicate values, PartitionScheme.THREE_WAY is the one to use.
+    public void introSortByAscendingOrder(int[] array, PartitionScheme scheme) 
+            throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        if(scheme == null)
+        {
+            throw new IllegalArgumentException("A partition scheme must be provided!");
+        }
+
+        int depthLimit = getDepthLimit(array.length);
+
+        // The partition methods report the boundaries of the block of elements that 
+        // is already in its final position through this array. It is created once per
+        // sort, so partitioning itself never allocates anything.
+        int[] bounds = new int[BOUNDS_LENGTH];
+
+        introSort(array, 0, array.length - 1, depthLimit, scheme, null, bounds);
+    }
+
+
+    // This overload only sorts the elements from fromIndex (inclusive) to toIndex 
+    // (exclusive), and leaves the rest of the array alone. This lets callers reuse one
+    // array as a buffer for many sorts of different sizes. An empty range is allowed,
+    // and does nothing.
+    public void introSortByAscendingOrder(int[] array, int fromIndex, int toIndex, 
+                                          PartitionScheme scheme) throws IllegalArgumentException
+    {
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(fromIndex < 0 || toIndex > array.length || fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("The range must lie inside the array, and fromIndex " 
+                                               + "can't be greater than toIndex!");
+        }
+        if(scheme == null)
+        {
+            throw new IllegalArgumentException("A partition scheme must be provided!");
+        }
+
+        int depthLimit = getDepthLimit(Math.max(toIndex - fromIndex, 1));
+        int[] bounds = new int[BOUNDS_LENGTH];
+
+        introSort(array, fromIndex, toIndex - 1, depthLimit, scheme, null, bounds);
+    }
+
+
+    // THE sortSmall() METHOD
+    //
+    // Sorts the elements from fromIndex (inclusive) to toIndex (exclusive) in 
+    // ascending order. This is meant for callers who sort lots of TINY arrays: 
+    // ranges of up to 16 elements are sorted with a sorting network, which does no 
+    // partitioning, picks no pivots and allocates nothing (see 
+    // SortingNetworkGenerator.java). Longer ranges are introsorted, so any range 
+    // works. Unlike the other methods, an empty range is allowed, and does nothing.
+    public void sortSmall(int[] array, int fromIndex, int toIndex) throws IllegalArgumentException
+    {
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(fromIndex < 0 || toIndex > array.length || fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("The range must lie inside the array, and fromIndex " 
+                                               + "can't be greater than toIndex!");
+        }
+
+        if(toIndex - fromIndex <= SMALL_SORT_THRESHOLD)
+        {
+            SortingNetworks.sort(array, fromIndex, toIndex);
+        }
+        else
+        {
+            introSortByAscendingOrder(array, fromIndex, toIndex, PartitionScheme.THREE_WAY);
+        }
+    }
+
+
+    // THE nthElement() METHOD
+    //
+    // Sometimes only ONE element of the sorted array is needed: the smallest, the 
+    // median, the 99th percentile. Sorting the whole array to find it is wasteful. 
+    // After a partitioning pass, the pivot is in its final position, and every other 
+    // element is on the correct side of it. If the pivot landed at index k, we are 
+    // done. If not, the element we want is in one of the two partitions, so we only 
+    // need to keep partitioning THAT one, and can forget about the other one 
+    // completely. This is called QUICKSELECT. Each pass only works on one partition, 
+    // so on average the work halves every pass: n + n/2 + n/4 + ... = O(n).
+    //
+    // When this method returns, array[k] holds the element that would be at index k 
+    // if the array were sorted. Every element before it is less than or equal to it, 
+    // and every element after it is greater than or equal to it. Neither side is 
+    // sorted. k starts at 0, so k = 0 finds the smallest element and 
+    // k = array.length / 2 finds the median.
+    //
+    // Just like Quick Sort, quickselect is O(n^2) if the pivots keep being bad. This
+    // method is an INTROSELECT: it counts the partitioning passes, and once the 
+    // depth limit is used up, it stops trusting the pivot strategy and switches to 
+    // the MEDIAN OF MEDIANS pivot (see medianOfMedians()), which is guaranteed to 
+    // make every later pass shrink the range by at least 30%. That keeps the worst 
+    // case at O(n).
+    public void nthElement(int[] array, int k) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        if(k < 0 || k >= array.length)
+        {
+            throw new IllegalArgumentException("k must be between 0 and the length of the array minus 1!");
+        }
+
+        introSelect(array, 0, array.length - 1, k, getDepthLimit(array.length), new int[2]);
+    }
+
+
+    // THE select() METHOD
+    //
+    // Returns the element that would be at index k if the array were sorted. The array
+    // is rearranged exactly like nthElement() does it.
+    public int select(int[] array, int k) throws IllegalArgumentException
+    {
+        nthElement(array, k);
+        return array[k];
+    }
+
+
+    // THE partialSort() METHOD
+    //
+    // Moves the k smallest elements to the front of the array, in ascending order. 
+    // The order of the rest of the array is undefined. This is the "top k" operation: 
+    // first, nthElement() puts the k smallest elements in front of index k, in O(n) 
+    // time. Then only those k elements are sorted, in O(k log k) time. For a small k, 
+    // that is much less work than sorting the whole array. k may be anywhere from 0 
+    // (nothing to do) to array.length (the whole array is sorted).
+    public void partialSort(int[] array, int k) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        if(k < 0 || k > array.length)
+        {
+            throw new IllegalArgumentException("k must be between 0 and the length of the array!");
+        }
+        if(k == 0)
+        {
+            return;
+        }
+
+        // array[k - 1] is in its final position, and everything before it is smaller,
+        // so only the elements in front of it still need sorting.
+        nthElement(array, k - 1);
+        if(k > 1)
+        {
+            introSortByAscendingOrder(array, 0, k - 1, PartitionScheme.THREE_WAY);
+        }
+    }
+
+
+    // THE sortByDescendingOrder() METHOD
+    //
+    // Sorts the array in descending order. There is no separate descending Quick Sort:
+    // the array is introsorted in ascending order, and then reversed in place. The
+    // reversal is a single O(n) pass, so this costs almost exactly as much as an
+    // ascending sort, and compares ints with '<' all the way through.
+    public void sortByDescendingOrder(int[] array) throws IllegalArgumentException
+    {
+        introSortByAscendingOrder(array, PartitionScheme.THREE_WAY);
+        reverse(array, 0, array.length - 1);
+    }
+
+
+    // THE sortByComparator() METHOD
+    //
+    // Sorts the array in the order given by the comparator (see IntComparator.java),
+    // without boxing a single element.
+    //
+    // The two common orders take a FAST PATH: IntComparator.NATURAL is sorted with
+    // introSortByAscendingOrder(), and IntComparator.REVERSE with sortByDescendingOrder().
+    // Any other comparator is handed to introSort(), which then asks the comparator for
+    // every decision. The loops that call compare() (partitionByComparator() and the 
+    // others) are kept separate from the ascending ones, so that when a program only 
+    // ever sorts with one comparator, the JIT compiler can inline its compare() method
+    // straight into them.
+    public void sortByComparator(int[] array, IntComparator comparator) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        if(comparator == null)
+        {
+            throw new IllegalArgumentException("A comparator must be provided!");
+        }
+
+        if(comparator == IntComparator.NATURAL)
+        {
+            introSortByAscendingOrder(array, PartitionScheme.THREE_WAY);
+        }
+        else if(comparator == IntComparator.REVERSE)
+        {
+            sortByDescendingOrder(array);
+        }
+        else
+        {
+            introSort(array, 0, array.length - 1, getDepthLimit(array.length), PartitionScheme.THREE_WAY, 
+                      comparator, new int[2]);
+        }
+    }
+
+
+    // THE sortUnique() METHOD
+    //
+    // Sorts the array and removes the duplicates in one go. Returns the number of 
+    // distinct values, n. Afterwards, array[0] to array[n - 1] hold every distinct 
+    // value once, in ascending order. The rest of the array is left with leftovers.
+    //
+    // Sorting first and then removing duplicates in a second pass would work, but 
+    // three-way partitioning (see partitionThreeWay()) already gathers every element 
+    // equal to the pivot into one block, and that block never needs to be looked at 
+    // again. uniqueSort() simply writes ONE copy of the pivot to the output instead, 
+    // so runs of equal values are collapsed as soon as they are found. On arrays with 
+    // few distinct values, most elements are dealt with this way after only a few 
+    // passes.
+    public int sortUnique(int[] array) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        return uniqueSort(array, 0, array.length - 1, 0, getDepthLimit(array.length), null, 
+                          new int[BOUNDS_LENGTH]);
+    }
+
+
+    // THE sortAndCount() METHOD
+    //
+    // Works just like sortUnique(), but also counts how often each distinct value 
+    // occurs: the size of each block of equal elements is recorded as it is collapsed.
+    // Returns the distinct values and their counts as two parallel arrays (see 
+    // ValueCounts.java). The array itself is rearranged the same way as by 
+    // sortUnique().
+    public ValueCounts sortAndCount(int[] array) throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        int[] counts = new int[array.length];
+        int distinct = uniqueSort(array, 0, array.length - 1, 0, getDepthLimit(array.length), 
+                                  counts, new int[BOUNDS_LENGTH]);
+
+        return new ValueCounts(Arrays.copyOf(array, distinct), Arrays.copyOf(counts, distinct));
+    }
+
+
+    // THE parallelSortByAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order using several threads at once. Every 
+    // partitioning pass splits the array into partitions that have nothing to do with
+    // each other: no element will ever move from one partition to another. That means
+    // they can be sorted at the same time, on different threads.
+    //
+    // This method uses Java's Fork/Join framework to do exactly that. Each partition 
+    // becomes a task (a RecursiveAction) that a ForkJoinPool hands to one of its 
+    // worker threads. That task partitions its piece of the array and "forks" new 
+    // tasks for the resulting partitions, and so on. Once a partition is no larger 
+    // than the parallel granularity (see setParallelGranularity()), it is sorted 
+    // sequentially with introSort(). The depth limit works just as it does in 
+    // introSortByAscendingOrder().
+    //
+    // Partitions with PARALLEL_PARTITION_THRESHOLD elements or more are not 
+    // partitioned by a single thread. ParallelPartition splits that work between all 
+    // the threads in the pool as well, so that no thread sits idle while the first, 
+    // largest partitioning passes are done. This uses a scratch array as large as the 
+    // input, so it is only done when the array is large enough and the pool has more 
+    // than one thread.
+    //
+    // The first overload runs on the JVM-wide common pool. The other two take the pool
+    // from the caller, and the last one also takes the partition scheme. 
+    //
+    // Note: A seeded pivot strategy will still work, but the run will not be 
+    // reproducible, as the threads take turns drawing from it in no particular order.
+    public void parallelSortByAscendingOrder(int[] array) throws IllegalArgumentException
+    {
+        parallelSortByAscendingOrder(array, ForkJoinPool.commonPool(), PartitionScheme.LOMUTO);
+    }
+
+
+    public void parallelSortByAscendingOrder(int[] array, ForkJoinPool pool) 
+            throws IllegalArgumentException
+    {
+        parallelSortByAscendingOrder(array, pool, PartitionScheme.LOMUTO);
+    }
+
+
+    public void parallelSortByAscendingOrder(int[] array, ForkJoinPool pool, 
+                                             PartitionScheme scheme) 
+            throws IllegalArgumentException
+    {
+        // Make sure the array is neither null nor empty.
+        validateArray(array);
+
+        if(pool == null)
+        {
+            throw new IllegalArgumentException("A ForkJoinPool must be provided!");
+        }
+        if(scheme == null)
+        {
+            throw new IllegalArgumentException("A partition scheme must be provided!");
+        }
+
+        int[] scratch = null;
+        if(array.length >= PARALLEL_PARTITION_THRESHOLD && pool.getParallelism() > 1)
+        {
+            scratch = new int[array.length];
+        }
+
+        // Hand the whole array to the pool as a single task. invoke() waits until that 
+        // task, and every task it forks, is done.
+        pool.invoke(new ParallelSortTask(array, scratch, 0, array.length - 1, 
+                                         getDepthLimit(array.length), scheme));
+    }
+
+
+    // GETTER AND SETTER FOR THE PARALLEL GRANULARITY
+    //
+    // A larger granularity means fewer, bigger tasks. A smaller one spreads the work 
+    // more evenly across threads, but each task has some overhead. The default is 
+    // DEFAULT_PARALLEL_GRANULARITY.
+    public int getParallelGranularity()
+    {
+        return parallelGranularity;
+    }
+
+
+    public void setParallelGranularity(int parallelGranularity) throws IllegalArgumentException
+    {
+        if(parallelGranularity < 1)
+        {
+            throw new IllegalArgumentException("The parallel granularity must be at least 1!");
+        }
+
+        this.parallelGranularity = parallelGranularity;
+    }
+
+
+    // THE isVectorPartitionAvailable() METHOD
+    //
+    // PartitionScheme.VECTOR relies on the Vector API (the jdk.incubator.vector 
+    // module), which is only there if the JVM was started with 
+    // --add-modules jdk.incubator.vector. It also needs a CPU with wide enough vector 
+    // registers. If either is missing, PartitionScheme.VECTOR quietly falls back to 
+    // PartitionScheme.BLOCK. This method tells the caller which one they are getting,
+    // which matters when comparing throughput on a particular host.
+    public static boolean isVectorPartitionAvailable()
+    {
+        return VECTOR_PARTITION_AVAILABLE;
+    }
+
+
+    // THE findVectorPartition() METHOD
+    //
+    // Looks up VectorPartition.partition(), and returns a MethodHandle to it, or null if
+    // it can't be used. That is the case if:
+    //
+    //     1. The JVM was started without --add-modules jdk.incubator.vector. This has to 
+    //        be checked BEFORE VectorPartition is touched: loading that class without 
+    //        the module would fail with a NoClassDefFoundError.
+    //     2. VectorPartition was not compiled, i.e. src-vector is not on the class path.
+    //     3. VectorPartition.isSupported() says the CPU's vector registers are too narrow.
+    //
+    // The handle is kept in a static final field, so the JIT compiler treats it as a 
+    // constant and calls VectorPartition.partition() directly, as if there were no 
+    // reflection involved.
+    private static MethodHandle findVectorPartition()
+    {
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+        {
+            return null;
+        }
+
+        try
+        {
+            Class<?> vectorPartition = Class.forName("com.jvarghe.VectorPartition");
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            MethodHandle isSupported = lookup.findStatic(vectorPartition, "isSupported", 
+                    MethodType.methodType(boolean.class));
+            if(!(boolean) isSupported.invokeExact())
+            {
+                return null;
+            }
+
+            return lookup.findStatic(vectorPartition, "partition", 
+                    MethodType.methodType(int.class, int[].class, int.class, int.class, int.class));
+        }
+        catch(ReflectiveOperationException | LinkageError error)
+        {
+            return null;
+        }
+        catch(Throwable error)
+        {
+            throw new IllegalStateException("VectorPartition.isSupported() failed!", error);
+        }
+    }
+
+
+    // THE getVectorPartitionMinSize() METHOD
+    //
+    // Reads VectorPartition.MIN_SIZE, the smallest range that VectorPartition can 
+    // partition. If VectorPartition can't be used, no range is large enough.
+    private static int getVectorPartitionMinSize()
+    {
+        if(!VECTOR_PARTITION_AVAILABLE)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        try
+        {
+            Class<?> vectorPartition = Class.forName("com.jvarghe.VectorPartition");
+            return (int) MethodHandles.lookup().findStaticGetter(vectorPartition, "MIN_SIZE", int.class)
+                                               .invokeExact();
+        }
+        catch(Throwable error)
+        {
+            throw new IllegalStateException("VectorPartition.MIN_SIZE can't be read!", error);
+        }
+    }
+
+
+    // THE getDepthLimit() METHOD
+    //
+    // Returns introsort's depth limit for an array of the given size: 2 * floor(log2(n)).
+    // numberOfLeadingZeros() gives us floor(log2(n)) without any floating point maths.
+    private static int getDepthLimit(int size)
+    {
+        return 2 * (31 - Integer.numberOfLeadingZeros(size));
+    }
+
+
+    // THE validateArray() METHOD
+    //
+    // Tests the array to make sure it meets Quick Sort's requirements. Every public 
+    // sort method calls this before it does any work.
+    private void validateArray(int[] array) throws IllegalArgumentException
     {
         // If it is a null array, throw an exception.
         if(array == null)
         {
             throw new IllegalArgumentException("This is a null array! It can't be sorted.");
         }
-        // If the array has zero elements, throw an exception.
-        else if(array.length == 0)
+        // If the array has zero elements, throw an exception.
+        else if(array.length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+    }
+    
+
+    // THE quickSort() METHOD
+    //
+    // The quickSort() method does two things: it sends the array to get partitioned 
+    // and then divides the newly partitioned array into two new arrays. quickSort() then 
+    // recursively calls itself on the two new arrays, starting a process where arrays
+    // are partitioned and then divided into smaller ones over and over. This is a short
+    // description of the Quick Sort algorithm. This process will continue to divide the
+    // array into sub-arrays until each sub-array has a minimum of two elements in it. 
+    //
+    // Note that Quick Sort does all its work in the original array. No new arrays are 
+    // created. This is an important because elements are only swapped, which makes 
+    // shifting all the other elements around unnecessary. This is what makes it faster 
+    // than other sorting algorithms. For instance, Insertion Sort takes a brute force 
+    // approach to sorting. It inserts and moves elements around, often multiple times. 
+    // Quick Sort is much more efficient, requiring fewer swaps and no shifts.
+    // 
+    // Note that Quick Sort does not directly sort the array, to wit, the algorithm
+    // does not directly search for the highest element, the second-highest element
+    // etc. and then put them in order. Rather, the combination of these three processes, 
+    // namely partitioning, array division and recursion, will produce a sorted array.
+    // 
+    // Suggestion: This is a complex algorithm. Use print statements to track what is 
+    // happening. For example, after every call to the partition() method, print the 
+    // array and variables like nextSwapIndex, currentIndex etc. 
+    private void quickSort(int[] array, int startIndex, int endIndex)
+    {
+        // THE BASE CASE OF quickSort()
+        // 
+        // This if-statement triggers the end of the recursive loop. This occurs when an 
+        // array or sub-array has less than two elements in it (one or fewer).
+        // 
+        // The rule is that the startIndex of the sort space should always be smaller 
+        // than the endIndex. It does not make any sense otherwise. If startIndex is 
+        // equal to endIndex, both indices are pointing to the same element; ergo, there 
+        // is only one element in that list. This is too few to partition. If startIndex 
+        // is less than endIndex, the sort space has a negative number of elements in it, 
+        // which is quite meaningless. Therefore, we have to stop executing this method 
+        // if either of these conditions occur. 
+        if(startIndex >= endIndex) 
+        { 
+            return; 
+        }
+        // THE SMALL CASE OF quickSort()
+        //
+        // Partitioning a sub-array of 16 elements or fewer means picking a pivot and 
+        // making a pass for every level of a tiny recursion tree, which costs more than 
+        // the sorting itself. A sorting network sorts the whole sub-array in one go 
+        // instead, without a single branch (see SortingNetworkGenerator.java).
+        else if(endIndex - startIndex + 1 <= SMALL_SORT_THRESHOLD)
+        {
+            SortingNetworks.sort(array, startIndex, endIndex + 1);
+        }
+        // THE RECURSIVE CASE OF quickSort()
+        // 
+        // As long as startIndex < endIndex, the two indices are pointing to at least 
+        // two separate elements. As long as this condition is true, it guarantees that 
+        // the sort space has at least two elements in it. Two elements is the minimum 
+        // size an array or sub-array needs in order to be partitioned. When the size 
+        // of the array or sub-array drops below two, this condition check will fail and 
+        // quickSort() will stop creating new partitions on that recursive branch.
+        else if (startIndex < endIndex) 
+        {
+            // Call the partition() method to partition this array. partition() will 
+            // select a new pivot element and use it to organize elements into two 
+            // partitions. The pivot element will sit between the two partitions. It 
+            // will also return the index of this new pivot value. 
+            int pivotIndex = partition(array, startIndex, endIndex);
+            
+            
+            // PARTITION CREATION
+            // Now that the array has been partitioned into two blocks, the left 
+            // partition should have all the elements less than the pivot and the right
+            // partition should have all the elements greater than the pivot. 
+            // 
+            // This makes the array ready for division into smaller sub-arrays. The array
+            // can now be formally demarcated into left and right partitions, with the
+            // pivot serving as the point of division. 
+            //
+            // Note: The pivot does not fall into either partition. What happens to it?
+            // It appears that the first partitioning pass puts the pivot into its final
+            // position.
+            
+            
+            // LEFT PARTITION: Designate all values between the startIndex and 
+            // (pivotIndex - 1) to be part of the left partition. Recursively call 
+            // quickSort() on the LEFT partition to partition it again. 
+            quickSort(array, startIndex, pivotIndex - 1);
+
+            // RIGHT PARTITION: Designate all values between (pivotIndex + 1) and 
+            // endIndex to be part of the right partition. Recursively call quickSort() 
+            // on the RIGHT partition to partition it again. 
+            quickSort(array, pivotIndex + 1, endIndex);
+        }
+    }
+
+
+    // THE introSort() METHOD
+    //
+    // This method does the same job as quickSort(), with four differences:
+    //
+    //     1. DEPTH LIMIT: Every partitioning pass uses up one level of depthLimit. When 
+    //        it reaches zero, the sub-array is sorted with heapSort() instead.
+    //     2. SMALLER PARTITION FIRST: Instead of recursing into both partitions, it 
+    //        only recurses into the SMALLER one. The larger one is handled by the next 
+    //        iteration of the while-loop. Because the sub-array we recurse into is at 
+    //        most half the size of the current one, the call stack can never get more 
+    //        than log2(n) frames deep.
+    //     3. SMALL PARTITION CUTOFF: Sub-arrays with SMALL_SORT_THRESHOLD elements 
+    //        or fewer are not partitioned at all. Partitioning such a tiny range costs 
+    //        more than it saves, so they are finished off with a sorting network.
+    //     4. PARTITION SCHEME: The partitioning scheme is chosen by the caller. After 
+    //        each pass, bounds[0] and bounds[1] hold the first and last index of the 
+    //        block that is already in its final position. For Lomuto partitioning 
+    //        this block is just the pivot; for three-way partitioning it is every 
+    //        element equal to the pivot. Neither partition includes this block.
+    //
+    //        Dual-pivot partitioning is the odd one out: it produces THREE partitions 
+    //        separated by two pivots, and bounds[0] and bounds[1] hold the indices of
+    //        the two pivots. The two smaller partitions are recursed into and the 
+    //        largest one is looped on. The second-largest of three partitions can 
+    //        never hold more than half of the elements, so the call stack is still 
+    //        at most log2(n) frames deep.
+    //
+    // If a comparator is given, it decides the order instead (see sortByComparator()).
+    // The scheme must then be THREE_WAY, and every partitioning pass, the Heap Sort 
+    // fallback and the final sort of small sub-arrays use their "ByComparator" 
+    // versions. When the comparator is null, the order is ascending.
+    private void introSort(int[] array, int startIndex, int endIndex, int depthLimit, 
+                           PartitionScheme scheme, IntComparator comparator, int[] bounds)
+    {
+        while(endIndex - startIndex + 1 > SMALL_SORT_THRESHOLD)
+        {
+            // The pivots have been bad for too long. Stop partitioning and let Heap 
+            // Sort guarantee O(n log n) for the rest of this sub-array.
+            if(depthLimit == 0)
+            {
+                if(comparator == null)
+                {
+                    heapSort(array, startIndex, endIndex);
+                }
+                else
+                {
+                    heapSortByComparator(array, startIndex, endIndex, comparator);
+                }
+                return;
+            }
+
+            depthLimit--;
+            if(comparator == null)
+            {
+                partitionRange(array, startIndex, endIndex, scheme, bounds);
+            }
+            else
+            {
+                partitionByComparator(array, startIndex, endIndex, comparator, bounds);
+            }
+
+            if(scheme == PartitionScheme.DUAL_PIVOT)
+            {
+                int leftPivot = bounds[0];
+                int rightPivot = bounds[1];
+
+                // If both pivots have the same value, every element in the middle 
+                // partition is equal to them as well. It is already sorted, so it is 
+                // treated as empty.
+                boolean middleIsSorted = array[leftPivot] == array[rightPivot];
+
+                int leftSize = leftPivot - startIndex;
+                int middleSize = middleIsSorted ? 0 : rightPivot - leftPivot - 1;
+                int rightSize = endIndex - rightPivot;
+
+                if(rightSize >= leftSize && rightSize >= middleSize)
+                {
+                    introSort(array, startIndex, leftPivot - 1, depthLimit, scheme, comparator, bounds);
+                    if(!middleIsSorted)
+                    {
+                        introSort(array, leftPivot + 1, rightPivot - 1, depthLimit, scheme, comparator, bounds);
+                    }
+                    startIndex = rightPivot + 1;
+                }
+                else if(leftSize >= middleSize)
+                {
+                    if(!middleIsSorted)
+                    {
+                        introSort(array, leftPivot + 1, rightPivot - 1, depthLimit, scheme, comparator, bounds);
+                    }
+                    introSort(array, rightPivot + 1, endIndex, depthLimit, scheme, comparator, bounds);
+                    endIndex = leftPivot - 1;
+                }
+                else
+                {
+                    introSort(array, startIndex, leftPivot - 1, depthLimit, scheme, comparator, bounds);
+                    introSort(array, rightPivot + 1, endIndex, depthLimit, scheme, comparator, bounds);
+                    startIndex = leftPivot + 1;
+                    endIndex = rightPivot - 1;
+                }
+
+                continue;
+            }
+
+            // Copy the boundaries out of the shared array before recursing, because 
+            // the recursive call will overwrite them.
+            int leftEnd = bounds[0] - 1;
+            int rightStart = bounds[1] + 1;
+
+            // Recurse into the smaller partition, then "loop" on the larger one by 
+            // moving the boundaries of the sort space.
+            if(leftEnd - startIndex < endIndex - rightStart)
+            {
+                introSort(array, startIndex, leftEnd, depthLimit, scheme, comparator, bounds);
+                startIndex = rightStart;
+            }
+            else
+            {
+                introSort(array, rightStart, endIndex, depthLimit, scheme, comparator, bounds);
+                endIndex = leftEnd;
+            }
+        }
+
+        // The sorting networks only know the natural order.
+        if(comparator == null)
+        {
+            SortingNetworks.sort(array, startIndex, endIndex + 1);
+        }
+        else
+        {
+            insertionSortByComparator(array, startIndex, endIndex, comparator);
+        }
+    }
+
+
+    // THE introSelect() METHOD
+    //
+    // The loop behind nthElement(). Each pass partitions the range three ways, then 
+    // keeps only the block that contains index k:
+    //
+    //     - If k is inside the "equal" block, array[k] is in its final position.
+    //     - If k is to the left of it, the range shrinks to the "less" block.
+    //     - If k is to the right of it, the range shrinks to the "greater" block.
+    //
+    // Three-way partitioning means that an array full of duplicates cannot slow it 
+    // down. Once the depth limit runs out, the pivot comes from medianOfMedians() 
+    // instead of the pivot strategy.
+    private void introSelect(int[] array, int startIndex, int endIndex, int k, 
+                             int depthLimit, int[] bounds)
+    {
+        while(endIndex - startIndex + 1 > SMALL_SORT_THRESHOLD)
+        {
+            int pivotValue;
+            if(depthLimit > 0)
+            {
+                depthLimit--;
+                pivotValue = array[getPivot(array, startIndex, endIndex)];
+            }
+            else
+            {
+                pivotValue = medianOfMedians(array, startIndex, endIndex, bounds);
+            }
+
+            partitionThreeWay(array, startIndex, endIndex, pivotValue, bounds);
+
+            if(k < bounds[0])
+            {
+                endIndex = bounds[0] - 1;
+            }
+            else if(k > bounds[1])
+            {
+                startIndex = bounds[1] + 1;
+            }
+            else
+            {
+                return;
+            }
+        }
+
+        // A tiny range is quicker to just sort.
+        SortingNetworks.sort(array, startIndex, endIndex + 1);
+    }
+
+
+    // THE medianOfMedians() METHOD
+    //
+    // Returns a pivot VALUE that is guaranteed to be neither too small nor too large. 
+    // The range is split into groups of 5 elements. Each group is sorted (5 elements 
+    // only take a handful of comparisons), and its median is moved to the front of the
+    // range. Then the median of those medians is found with introSelect().
+    //
+    // Why is that a good pivot? Half of the group medians are less than or equal to 
+    // it, and in each of those groups, 3 of the 5 elements are less than or equal to 
+    // the group's median. So at least 3/10 of the whole range is less than or equal to
+    // the pivot, and by the same argument, at least 3/10 is greater than or equal to 
+    // it. Whichever side introSelect() keeps, it holds at most 70% of the range.
+    //
+    // The recursive introSelect() call is given a depth limit of 0, so that it uses 
+    // medians of medians as well. Its range is only a fifth of the size of this one.
+    private int medianOfMedians(int[] array, int startIndex, int endIndex, int[] bounds)
+    {
+        int medianEnd = startIndex;
+
+        for(int groupStart = startIndex; groupStart <= endIndex; groupStart += 5)
+        {
+            int groupEnd = Math.min(groupStart + 4, endIndex);
+            SortingNetworks.sort(array, groupStart, groupEnd + 1);
+
+            swapElements(array, medianEnd, groupStart + (groupEnd - groupStart) / 2);
+            medianEnd++;
+        }
+
+        int middle = startIndex + (medianEnd - 1 - startIndex) / 2;
+        introSelect(array, startIndex, medianEnd - 1, middle, 0, bounds);
+
+        return array[middle];
+    }
+
+
+    // THE partitionRange() METHOD
+    //
+    // Runs one partitioning pass over the sort space with the chosen scheme, and 
+    // reports the result through bounds[]. See introSort() for what bounds[0] and 
+    // bounds[1] hold for each scheme.
+    private void partitionRange(int[] array, int startIndex, int endIndex, 
+                                PartitionScheme scheme, int[] bounds)
+    {
+        if(scheme == PartitionScheme.DUAL_PIVOT)
+        {
+            partitionDualPivot(array, startIndex, endIndex, bounds);
+        }
+        else if(scheme == PartitionScheme.THREE_WAY)
+        {
+            partitionThreeWay(array, startIndex, endIndex, bounds);
+        }
+        else if(scheme == PartitionScheme.VECTOR && VECTOR_PARTITION_AVAILABLE 
+                && endIndex - startIndex + 1 >= VECTOR_PARTITION_MIN_SIZE)
+        {
+            int pivotIndex = partitionVector(array, startIndex, endIndex);
+            bounds[0] = pivotIndex;
+            bounds[1] = pivotIndex;
+        }
+        // PartitionScheme.VECTOR falls back to block partitioning when the Vector API
+        // is not available, and on ranges too small to fill a few vectors.
+        else if(scheme == PartitionScheme.BLOCK || scheme == PartitionScheme.VECTOR)
+        {
+            int pivotIndex = partitionBlock(array, startIndex, endIndex, bounds);
+            bounds[0] = pivotIndex;
+            bounds[1] = pivotIndex;
+        }
+        else
+        {
+            int pivotIndex = partition(array, startIndex, endIndex);
+            bounds[0] = pivotIndex;
+            bounds[1] = pivotIndex;
+        }
+    }
+
+
+    // THE heapSort() METHOD
+    //
+    // Sorts the elements between startIndex and endIndex (inclusive) in place with Heap
+    // Sort. This is introSort()'s fallback when the depth limit runs out. Heap Sort is 
+    // slower than Quick Sort on average, but it is O(n log n) in the WORST case and 
+    // needs no extra memory, which is exactly what we need once Quick Sort has started 
+    // to misbehave.
+    //
+    // The sub-array is treated as a binary max-heap whose root lives at startIndex. 
+    // The children of the node at offset i (counted from startIndex) live at offsets 
+    // 2i + 1 and 2i + 2.
+    private void heapSort(int[] array, int startIndex, int endIndex)
+    {
+        int size = endIndex - startIndex + 1;
+
+        // Build the max-heap: sift down every node that has at least one child, 
+        // starting with the last one and working back to the root.
+        for(int node = size / 2 - 1; node >= 0; node--)
+        {
+            siftDown(array, startIndex, node, size);
+        }
+
+        // Repeatedly move the largest element (the root) to the end of the heap, 
+        // shrink the heap by one and restore the heap property.
+        for(int heapSize = size - 1; heapSize > 0; heapSize--)
+        {
+            swapElements(array, startIndex, startIndex + heapSize);
+            siftDown(array, startIndex, 0, heapSize);
+        }
+    }
+
+
+    // THE siftDown() METHOD
+    //
+    // Moves the element at offset 'node' down the heap until it is larger than both of
+    // its children. 'heapSize' is the number of elements that are still in the heap.
+    private void siftDown(int[] array, int startIndex, int node, int heapSize)
+    {
+        int element = array[startIndex + node];
+
+        while(true)
+        {
+            int child = 2 * node + 1;
+            if(child >= heapSize)
+            {
+                break;
+            }
+
+            // Pick the larger of the two children.
+            if(child + 1 < heapSize && array[startIndex + child + 1] > array[startIndex + child])
+            {
+                child++;
+            }
+
+            // The element is in the right place once it is at least as large as its 
+            // larger child.
+            if(element >= array[startIndex + child])
+            {
+                break;
+            }
+
+            array[startIndex + node] = array[startIndex + child];
+            node = child;
+        }
+
+        array[startIndex + node] = element;
+    }
+
+
+    // THE uniqueSort() METHOD
+    //
+    // The loop behind sortUnique() and sortAndCount(). Sorts the elements between 
+    // startIndex and endIndex (inclusive), and writes each distinct value among them 
+    // once, in ascending order, starting at index 'output'. If counts is not null, 
+    // counts[i] gets the number of copies of the value written to array[i]. Returns the
+    // index after the last value written.
+    //
+    // The output is written over the input, so everything has to be done strictly from
+    // left to right: the "less" partition first, then the pivot, then the "greater" 
+    // partition. 'output' never gets ahead of startIndex, because everything to the 
+    // left of the current sort space has already been turned into output, and it 
+    // produced at most one value per element. That rules out the usual trick of 
+    // recursing into the smaller partition first, but each recursion still uses up one
+    // level of the depth limit, so the call stack can never get deeper than the limit.
+    private int uniqueSort(int[] array, int startIndex, int endIndex, int output, int depthLimit, 
+                           int[] counts, int[] bounds)
+    {
+        while(endIndex - startIndex + 1 > SMALL_SORT_THRESHOLD)
+        {
+            if(depthLimit == 0)
+            {
+                heapSort(array, startIndex, endIndex);
+                return compactRuns(array, startIndex, endIndex, output, counts);
+            }
+
+            depthLimit--;
+            partitionThreeWay(array, startIndex, endIndex, bounds);
+
+            // Copy the boundaries out of the shared array before recursing, because 
+            // the recursive call will overwrite them.
+            int equalStart = bounds[0];
+            int equalEnd = bounds[1];
+
+            if(equalStart > startIndex)
+            {
+                output = uniqueSort(array, startIndex, equalStart - 1, output, depthLimit, counts, 
+                                    bounds);
+            }
+
+            // The whole "equal" block collapses into a single value.
+            if(counts != null)
+            {
+                counts[output] = equalEnd - equalStart + 1;
+            }
+            array[output++] = array[equalStart];
+
+            startIndex = equalEnd + 1;
+        }
+
+        if(startIndex > endIndex)
+        {
+            return output;
+        }
+
+        SortingNetworks.sort(array, startIndex, endIndex + 1);
+        return compactRuns(array, startIndex, endIndex, output, counts);
+    }
+
+
+    // THE compactRuns() METHOD
+    //
+    // The elements between startIndex and endIndex (inclusive) are already sorted. 
+    // Writes one copy of each run of equal values to the output, and counts the run 
+    // if counts is not null. Returns the index after the last value written.
+    private static int compactRuns(int[] array, int startIndex, int endIndex, int output, 
+                                   int[] counts)
+    {
+        int runStart = startIndex;
+
+        for(int i = startIndex + 1; i <= endIndex + 1; i++)
+        {
+            if(i > endIndex || array[i] != array[runStart])
+            {
+                if(counts != null)
+                {
+                    counts[output] = i - runStart;
+                }
+                array[output++] = array[runStart];
+                runStart = i;
+            }
+        }
+
+        return output;
+    }
+
+
+    // THE reverse() METHOD
+    //
+    // Reverses the elements between startIndex and endIndex (inclusive) in place.
+    private static void reverse(int[] array, int startIndex, int endIndex)
+    {
+        for(int left = startIndex, right = endIndex; left < right; left++, right--)
+        {
+            int temp = array[left];
+            array[left] = array[right];
+            array[right] = temp;
+        }
+    }
+
+
+    // THE partitionByComparator() METHOD
+    //
+    // partitionThreeWay(), with every '<' and '>' replaced by a call to the comparator.
+    // Each element is compared with the pivot only once, and the sign of the result 
+    // decides which block it goes to. The pivot strategy still picks the pivot index;
+    // the median strategies then look at values in natural order, which may not give 
+    // the median in the comparator's order, but the depth limit keeps that safe.
+    private void partitionByComparator(int[] array, int startIndex, int endIndex, 
+                                       IntComparator comparator, int[] bounds)
+    {
+        int pivotValue = array[getPivot(array, startIndex, endIndex)];
+
+        int lessThanEnd = startIndex;
+        int currentIndex = startIndex;
+        int greaterThanStart = endIndex;
+
+        while(currentIndex <= greaterThanStart)
+        {
+            int element = array[currentIndex];
+            int order = comparator.compare(element, pivotValue);
+
+            if(order < 0)
+            {
+                swapElements(array, lessThanEnd, currentIndex);
+                lessThanEnd++;
+                currentIndex++;
+            }
+            else if(order > 0)
+            {
+                swapElements(array, currentIndex, greaterThanStart);
+                greaterThanStart--;
+            }
+            else
+            {
+                currentIndex++;
+            }
+        }
+
+        // Every element was compared with the pivot exactly once.
+        countComparisons(endIndex - startIndex + 1);
+
+        bounds[0] = lessThanEnd;
+        bounds[1] = greaterThanStart;
+    }
+
+
+    // THE insertionSortByComparator() METHOD
+    private static void insertionSortByComparator(int[] array, int startIndex, int endIndex, 
+                                                  IntComparator comparator)
+    {
+        for(int i = startIndex + 1; i <= endIndex; i++)
+        {
+            int element = array[i];
+            int j = i - 1;
+
+            while(j >= startIndex && comparator.compare(array[j], element) > 0)
+            {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            array[j + 1] = element;
+        }
+    }
+
+
+    // THE heapSortByComparator() METHOD
+    //
+    // heapSort(), where "largest" means "last in the comparator's order".
+    private void heapSortByComparator(int[] array, int startIndex, int endIndex, 
+                                      IntComparator comparator)
+    {
+        int size = endIndex - startIndex + 1;
+
+        for(int node = size / 2 - 1; node >= 0; node--)
         {
-            throw new IllegalArgumentException("The Array is Empty!");
+            siftDownByComparator(array, startIndex, node, size, comparator);
         }
-        // If the array is not empty or null...
-        else
+
+        for(int heapSize = size - 1; heapSize > 0; heapSize--)
         {
-            // ...call the Quick Sort method and pass in the array, providing the first 
-            // and last indices (to designate the sort space). 
-            quickSort(array, 0, array.length - 1);
+            swapElements(array, startIndex, startIndex + heapSize);
+            siftDownByComparator(array, startIndex, 0, heapSize, comparator);
         }
     }
-    
 
-    // THE quickSort() METHOD
-    //
-    // The quickSort() method does two things: it sends the array to get partitioned 
-    // and then divides the newly partitioned array into two new arrays. quickSort() then 
-    // recursively calls itself on the two new arrays, starting a process where arrays
-    // are partitioned and then divided into smaller ones over and over. This is a short
-    // description of the Quick Sort algorithm. This process will continue to divide the
-    // array into sub-arrays until each sub-array has a minimum of two elements in it. 
-    //
-    // Note that Quick Sort does all its work in the original array. No new arrays are 
-    // created. This is an important because elements are only swapped, which makes 
-    // shifting all the other elements around unnecessary. This is what makes it faster 
-    // than other sorting algorithms. For instance, Insertion Sort takes a brute force 
-    // approach to sorting. It inserts and moves elements around, often multiple times. 
-    // Quick Sort is much more efficient, requiring fewer swaps and no shifts.
-    // 
-    // Note that Quick Sort does not directly sort the array, to wit, the algorithm
-    // does not directly search for the highest element, the second-highest element
-    // etc. and then put them in order. Rather, the combination of these three processes, 
-    // namely partitioning, array division and recursion, will produce a sorted array.
-    // 
-    // Suggestion: This is a complex algorithm. Use print statements to track what is 
-    // happening. For example, after every call to the partition() method, print the 
-    // array and variables like nextSwapIndex, currentIndex etc. 
-    private void quickSort(int[] array, int startIndex, int endIndex)
+
+    // THE siftDownByComparator() METHOD
+    private static void siftDownByComparator(int[] array, int startIndex, int node, int heapSize, 
+                                             IntComparator comparator)
     {
-        // THE BASE CASE OF quickSort()
-        // 
-        // This if-statement triggers the end of the recursive loop. This occurs when an 
-        // array or sub-array has less than two elements in it (one or fewer).
-        // 
-        // The rule is that the startIndex of the sort space should always be smaller 
-        // than the endIndex. It does not make any sense otherwise. If startIndex is 
-        // equal to endIndex, both indices are pointing to the same element; ergo, there 
-        // is only one element in that list. This is too few to partition. If startIndex 
-        // is less than endIndex, the sort space has a negative number of elements in it, 
-        // which is quite meaningless. Therefore, we have to stop executing this method 
-        // if either of these conditions occur. 
-        if(startIndex >= endIndex) 
-        { 
-            return; 
-        }
-        // THE RECURSIVE CASE OF quickSort()
-        // 
-        // As long as startIndex < endIndex, the two indices are pointing to at least 
-        // two separate elements. As long as this condition is true, it guarantees that 
-        // the sort space has at least two elements in it. Two elements is the minimum 
-        // size an array or sub-array needs in order to be partitioned. When the size 
-        // of the array or sub-array drops below two, this condition check will fail and 
-        // quickSort() will stop creating new partitions on that recursive branch.
-        else if (startIndex < endIndex) 
+        int element = array[startIndex + node];
+
+        while(true)
         {
-            // Call the partition() method to partition this array. partition() will 
-            // select a new pivot element and use it to organize elements into two 
-            // partitions. The pivot element will sit between the two partitions. It 
-            // will also return the index of this new pivot value. 
-            int pivotIndex = partition(array, startIndex, endIndex);
-            
-            
-            // PARTITION CREATION
-            // Now that the array has been partitioned into two blocks, the left 
-            // partition should have all the elements less than the pivot and the right
-            // partition should have all the elements greater than the pivot. 
-            // 
-            // This makes the array ready for division into smaller sub-arrays. The array
-            // can now be formally demarcated into left and right partitions, with the
-            // pivot serving as the point of division. 
-            //
-            // Note: The pivot does not fall into either partition. What happens to it?
-            // It appears that the first partitioning pass puts the pivot into its final
-            // position.
-            
-            
-            // LEFT PARTITION: Designate all values between the startIndex and 
-            // (pivotIndex - 1) to be part of the left partition. Recursively call 
-            // quickSort() on the LEFT partition to partition it again. 
-            quickSort(array, startIndex, pivotIndex - 1);
+            int child = 2 * node + 1;
+            if(child >= heapSize)
+            {
+                break;
+            }
 
-            // RIGHT PARTITION: Designate all values between (pivotIndex + 1) and 
-            // endIndex to be part of the right partition. Recursively call quickSort() 
-            // on the RIGHT partition to partition it again. 
-            quickSort(array, pivotIndex + 1, endIndex);
+            if(child + 1 < heapSize 
+               && comparator.compare(array[startIndex + child + 1], array[startIndex + child]) > 0)
+            {
+                child++;
+            }
+
+            if(comparator.compare(element, array[startIndex + child]) >= 0)
+            {
+                break;
+            }
+
+            array[startIndex + node] = array[startIndex + child];
+            node = child;
         }
+
+        array[startIndex + node] = element;
     }
 
     
@@ -153,10 +1266,10 @@ public class QuickSort_Integers
         // Pass in index values that demarcate the boundaries of the sort space to the 
         // getPivot() method. If they point to the first and last elements in the array, 
         // the sort space is the entire array. If the indices demarcate some subset of 
-        // the array, then the sort space is a sub-array. getPivot() will randomly 
-        // select an index from this sort space, including startIndex and endIndex, and 
-        // return this value. The element at this index will serve as the pivot element.
-        int pivotIndex = getPivot(startIndex, endIndex);
+        // the array, then the sort space is a sub-array. getPivot() will select an 
+        // index from this sort space, including startIndex and endIndex, and return 
+        // this value. The element at this index will serve as the pivot element.
+        int pivotIndex = getPivot(array, startIndex, endIndex);
 
         // Call the swapElements() method which swaps the endIndex and pivotIndex
         // elements. This will move the pivot element to the rightmost position in the
@@ -283,6 +1396,8 @@ public class QuickSort_Integers
          * partition() does is swap the existing pivot element and nextSwapIndex element. 
          * The indices are also changed to match the swap. 
          */
+        countComparisons(endIndex - startIndex);
+
         for(int currentIndex = startIndex; currentIndex < endIndex; currentIndex++) 
         {
             // If the currentIndex element is LESS THAN the pivotIndex element...
@@ -305,51 +1420,381 @@ public class QuickSort_Integers
     }
 
 
-    // The getPivot() METHOD
+    // THE partitionBlock() METHOD
+    //
+    // This is the partitioning scheme from BlockQuicksort (Edelkamp and Weiss, 2016). 
+    // It produces the same result as partition(): the pivot in its final position, 
+    // with smaller or equal elements to its left and larger or equal elements to its 
+    // right. What it changes is HOW the elements are compared.
+    //
+    // In partition(), every element is tested with an if-statement. Modern CPUs guess 
+    // which way an if-statement will go before they know the answer (BRANCH 
+    // PREDICTION), and carry on working on the guess. If the guess was wrong, all that
+    // work is thrown away. On random data, whether an element is smaller than the pivot
+    // is a coin toss, so the CPU guesses wrong about half the time, and those wasted
+    // cycles end up dominating the running time.
+    //
+    // BlockQuicksort splits the work into two steps, neither of which needs an 
+    // unpredictable if-statement:
+    //
+    //     1. SCAN A BLOCK: Look at the next BLOCK_SIZE elements on the left and write 
+    //        down the offset of every element that is on the wrong side (greater than 
+    //        or equal to the pivot). The trick is that the offset is ALWAYS written to
+    //        the buffer, but the buffer's counter only moves forward if the element is
+    //        misplaced:
+    //
+    //            leftOffsets[leftCount] = i;
+    //            leftCount += (array[left + i] >= pivotValue) ? 1 : 0;
+    //
+    //        The comparison turns into a 0 or a 1 that is added to the counter, which 
+    //        the JIT compiles to a conditional move or a "set" instruction rather than 
+    //        a jump, so there is nothing for the CPU to guess. The same is done for a 
+    //        block on the right, looking for elements less than or equal to the pivot.
+    //     2. SWAP IN BULK: Swap the misplaced elements of the left block with the 
+    //        misplaced elements of the right block, pair by pair. The loop only 
+    //        depends on how many pairs there are, so it is easy to predict as well.
+    //
+    // Once a block has no misplaced elements left, the next block on that side is 
+    // scanned. When fewer than two blocks' worth of elements remain in the middle, the
+    // rest is partitioned the ordinary way.
     //
-    // Returns a random pivot index between the low and high indices, inclusive. Note: 
-    // Quick Sort has a tendency to have pathologically poor performance with very large
-    // sets. If you want to prevent this from happening, replace this Pivot selection 
-    // algorithm with a 'Median of Three Values' algorithm.
-    private int getPivot(int low, int high)
+    // The offset buffers are part of bounds[] (see the top of this class), so nothing 
+    // is allocated here.
+    private int partitionBlock(int[] array, int startIndex, int endIndex, int[] bounds)
     {
-        // GENERATING RANDOM NUMBERS BETWEEN AND WITHIN A RANGE
-        //
-        // randInt() accepts an integer argument and returns a random integer between
-        // the maximum and minimum values. But why do we need this expression: 
-        // ((high - low) + 1) + low? Apparently, this is a standard formula for 
-        // generating random numbers in a range, INCLUSIVE of the high and low values: 
-        // 
-        //     (max - min) + 1) + min
-        // 
-        // What's happening here? This expression will generate a number between max and
-        // min, including max and min. (max - min) + 1) generates a number between 0 and
-        // (max - min). If you add min to this, it will result in a random integer 
-        // between min and max. 
-        // [Source: https://www.techiedelight.com/generate-random-integers-specified-range-java/]
-        // 
-        // If you want the formula for generating a random number between the given min
-        // and max values, here it is:
-        //
-        //     (max - min) + min
-        //
-        // This formula appears to EXCLUDE min and max values. 
-        // [Source: https://stackoverflow.com/a/11923174]
+        // Move the pivot out of the way, to the end of the sort space, exactly as 
+        // partition() does.
+        swapElements(array, getPivot(array, startIndex, endIndex), endIndex);
+        int pivotValue = array[endIndex];
+
+        // Everything before 'left' is known to be <= the pivot, and everything after 
+        // 'right' is known to be >= the pivot.
+        int left = startIndex;
+        int right = endIndex - 1;
+
+        int leftCount = 0;
+        int leftStart = 0;
+        int rightCount = 0;
+        int rightStart = 0;
+        long comparisons = 0;
+
+        while(right - left + 1 > 2 * BLOCK_SIZE)
+        {
+            // Scan a new block on the left, if the last one has been dealt with.
+            if(leftCount == 0)
+            {
+                leftStart = 0;
+                for(int i = 0; i < BLOCK_SIZE; i++)
+                {
+                    bounds[LEFT_OFFSETS + leftCount] = i;
+                    leftCount += (array[left + i] >= pivotValue) ? 1 : 0;
+                }
+                comparisons += BLOCK_SIZE;
+            }
+
+            // Scan a new block on the right, if the last one has been dealt with.
+            if(rightCount == 0)
+            {
+                rightStart = 0;
+                for(int i = 0; i < BLOCK_SIZE; i++)
+                {
+                    bounds[RIGHT_OFFSETS + rightCount] = i;
+                    rightCount += (array[right - i] <= pivotValue) ? 1 : 0;
+                }
+                comparisons += BLOCK_SIZE;
+            }
+
+            // Swap as many misplaced pairs as there are.
+            int pairs = Math.min(leftCount, rightCount);
+            for(int j = 0; j < pairs; j++)
+            {
+                swapElements(array, left + bounds[LEFT_OFFSETS + leftStart + j], 
+                             right - bounds[RIGHT_OFFSETS + rightStart + j]);
+            }
+
+            leftCount -= pairs;
+            rightCount -= pairs;
+            leftStart += pairs;
+            rightStart += pairs;
+
+            // A block with no misplaced elements left is done. Move past it.
+            if(leftCount == 0)
+            {
+                left += BLOCK_SIZE;
+            }
+            if(rightCount == 0)
+            {
+                right -= BLOCK_SIZE;
+            }
+        }
+
+        // THE REMAINDER
         //
-        // Normally, if you just pass an integer value to nextInt(), for example the 
-        // integer 50, it will return a random number between 0 and 49. It appears that 
-        // using the first formula will return a value between 0 and 50, making it 
-        // possible that both 0 and 50 may be returned as a value. 
-        Random rand = new Random();
-        return rand.nextInt((high - low) + 1) + low;
+        // Fewer than two blocks are left between 'left' and 'right' (one of them may 
+        // be half-processed). Partition them the ordinary way: everything less than 
+        // the pivot goes to the front of the remainder.
+        int nextSwapIndex = left;
+        comparisons += right - left + 1;
+        countComparisons(comparisons);
+
+        for(int currentIndex = left; currentIndex <= right; currentIndex++)
+        {
+            if(array[currentIndex] < pivotValue)
+            {
+                swapElements(array, currentIndex, nextSwapIndex);
+                nextSwapIndex++;
+            }
+        }
+
+        // Everything before nextSwapIndex is now <= the pivot, and everything from 
+        // nextSwapIndex onwards is >= the pivot. Put the pivot there.
+        swapElements(array, nextSwapIndex, endIndex);
+        return nextSwapIndex;
+    }
+
+
+    // THE partitionVector() METHOD
+    //
+    // Partitions the sort space with SIMD instructions (see VectorPartition.java). Like
+    // partition(), it moves the pivot to the end of the sort space first, partitions 
+    // everything before it, and then swaps the pivot into place between the two 
+    // partitions. Elements less than the pivot end up on its left, and the others on 
+    // its right.
+    private int partitionVector(int[] array, int startIndex, int endIndex)
+    {
+        swapElements(array, getPivot(array, startIndex, endIndex), endIndex);
+        int pivotValue = array[endIndex];
+
+        int pivotIndex;
+        try
+        {
+            pivotIndex = (int) VECTOR_PARTITION.invokeExact(array, startIndex, endIndex - 1, pivotValue);
+        }
+        catch(RuntimeException | Error error)
+        {
+            throw error;
+        }
+        catch(Throwable error)
+        {
+            throw new IllegalStateException("VectorPartition.partition() failed!", error);
+        }
+        countComparisons(endIndex - startIndex);
+
+        swapElements(array, pivotIndex, endIndex);
+        return pivotIndex;
+    }
+
+
+    // THE partitionThreeWay() METHOD
+    //
+    // This is Dijkstra's "Dutch National Flag" partitioning scheme. partition() only 
+    // knows about two kinds of elements: those that are less than or equal to the 
+    // pivot and those that are greater. Every element equal to the pivot lands in the
+    // left partition and gets partitioned again and again. On an array that only holds
+    // a handful of distinct values, that makes Quick Sort quadratic.
+    //
+    // This method sorts the sort space into THREE blocks instead, like the three 
+    // colours of the Dutch flag:
+    //
+    //     | LESS THAN THE PIVOT | EQUAL TO THE PIVOT | GREATER THAN THE PIVOT |
+    //      startIndex            lessThanEnd ...      ... greaterThanStart  endIndex
+    //
+    // Three pointers are used. Everything before lessThanEnd is known to be less than 
+    // the pivot. Everything after greaterThanStart is known to be greater. Everything 
+    // from lessThanEnd up to (but not including) currentIndex is equal to the pivot. 
+    // The elements between currentIndex and greaterThanStart have not been looked at 
+    // yet. Each step looks at the currentIndex element and grows one of the three 
+    // blocks by one, until there are no unexamined elements left.
+    //
+    // When the method returns, bounds[0] and bounds[1] hold the first and last index 
+    // of the "equal" block. These elements are in their final positions, so 
+    // introSort() skips them when it recurses.
+    private void partitionThreeWay(int[] array, int startIndex, int endIndex, int[] bounds)
+    {
+        int pivotValue = array[getPivot(array, startIndex, endIndex)];
+        partitionThreeWay(array, startIndex, endIndex, pivotValue, bounds);
+    }
+
+
+    // This overload partitions around a pivot value chosen by the caller. introSelect()
+    // uses it with the pivot from medianOfMedians().
+    private void partitionThreeWay(int[] array, int startIndex, int endIndex, int pivotValue, 
+                                   int[] bounds)
+    {
+        int lessThanEnd = startIndex;
+        int currentIndex = startIndex;
+        int greaterThanStart = endIndex;
+
+        while(currentIndex <= greaterThanStart)
+        {
+            int element = array[currentIndex];
+
+            // Smaller than the pivot: swap it to the end of the "less" block. The 
+            // element swapped back is from the "equal" block, so we can move on.
+            if(element < pivotValue)
+            {
+                swapElements(array, lessThanEnd, currentIndex);
+                lessThanEnd++;
+                currentIndex++;
+                continue;
+            }
+
+            // Greater than the pivot: swap it to the front of the "greater" block. The
+            // element swapped back has not been examined yet, so currentIndex stays 
+            // where it is.
+            if(element > pivotValue)
+            {
+                swapElements(array, currentIndex, greaterThanStart);
+                greaterThanStart--;
+            }
+            // Equal to the pivot: it is already in the right block.
+            else
+            {
+                currentIndex++;
+            }
+        }
+
+        // Every element was compared with the pivot once, and every element that was
+        // not less than it was compared a second time.
+        countComparisons(2L * (endIndex - startIndex + 1) - (lessThanEnd - startIndex));
+
+        bounds[0] = lessThanEnd;
+        bounds[1] = greaterThanStart;
+    }
+
+
+    // THE partitionDualPivot() METHOD
+    //
+    // This is Vladimir Yaroslavskiy's dual-pivot partitioning scheme, the one behind 
+    // java.util.Arrays.sort() for primitive arrays. Instead of one pivot it uses TWO,
+    // called leftPivotValue and rightPivotValue (with leftPivotValue <= 
+    // rightPivotValue), and splits the sort space into three partitions:
+    //
+    //     | < LEFT PIVOT | LP | LEFT PIVOT <= x <= RIGHT PIVOT | RP | > RIGHT PIVOT |
+    //
+    // Each element is compared with the left pivot first, and only with the right 
+    // pivot if it is not smaller than the left one. Because the sort space is split 
+    // into three pieces instead of two, fewer partitioning passes are needed overall, 
+    // which saves both swaps and scans of the array.
+    //
+    // The two pivots start out at startIndex and endIndex. During the loop, these 
+    // pointers are used:
+    //
+    //     lessThanEnd:      Everything before it is less than the left pivot.
+    //     currentIndex:     The element being examined. Everything from lessThanEnd
+    //                       up to currentIndex belongs to the middle partition.
+    //     greaterThanStart: Everything after it is greater than the right pivot. 
+    //                       The elements between currentIndex and greaterThanStart 
+    //                       have not been examined yet.
+    //
+    // When the method returns, bounds[0] and bounds[1] hold the final indices of the 
+    // left and right pivots.
+    private void partitionDualPivot(int[] array, int startIndex, int endIndex, int[] bounds)
+    {
+        // Pick two random pivots and move them to the two ends of the sort space, 
+        // making sure the smaller one is on the left.
+        swapElements(array, getPivot(array, startIndex, endIndex), startIndex);
+        swapElements(array, getPivot(array, startIndex + 1, endIndex), endIndex);
+
+        // The number of comparisons depends on the data in ways that can't be worked 
+        // out afterwards, so it is counted in a local variable as the loop goes.
+        long comparisons = 1;
+        if(array[startIndex] > array[endIndex])
+        {
+            swapElements(array, startIndex, endIndex);
+        }
+
+        int leftPivotValue = array[startIndex];
+        int rightPivotValue = array[endIndex];
+
+        int lessThanEnd = startIndex + 1;
+        int greaterThanStart = endIndex - 1;
+        int currentIndex = lessThanEnd;
+
+        while(currentIndex <= greaterThanStart)
+        {
+            int element = array[currentIndex];
+
+            // Less than the left pivot: swap it into the left partition.
+            comparisons++;
+            if(element < leftPivotValue)
+            {
+                swapElements(array, currentIndex, lessThanEnd);
+                lessThanEnd++;
+                currentIndex++;
+                continue;
+            }
+
+            // Greater than the right pivot: it belongs in the right partition. 
+            comparisons++;
+            if(element > rightPivotValue)
+            {
+                // Skip over the elements at the end of the unexamined block that are
+                // already in the right partition...
+                while(currentIndex < greaterThanStart)
+                {
+                    comparisons++;
+                    if(array[greaterThanStart] <= rightPivotValue)
+                    {
+                        break;
+                    }
+
+                    greaterThanStart--;
+                }
+
+                // ...then swap the current element with the first one that is not. 
+                swapElements(array, currentIndex, greaterThanStart);
+                greaterThanStart--;
+
+                // The element we just swapped in has not been examined yet. It is 
+                // either in the middle partition already, or it is less than the left
+                // pivot and has to go to the left partition.
+                comparisons++;
+                if(array[currentIndex] < leftPivotValue)
+                {
+                    swapElements(array, currentIndex, lessThanEnd);
+                    lessThanEnd++;
+                }
+            }
+
+            currentIndex++;
+        }
+
+        // Move the pivots from the ends of the sort space to their final positions, 
+        // between the partitions.
+        lessThanEnd--;
+        greaterThanStart++;
+        swapElements(array, startIndex, lessThanEnd);
+        swapElements(array, endIndex, greaterThanStart);
+        countComparisons(comparisons);
+
+        bounds[0] = lessThanEnd;
+        bounds[1] = greaterThanStart;
+    }
+
+
+    // The getPivot() METHOD
+    //
+    // Returns a pivot index between the low and high indices, inclusive. How the pivot
+    // is chosen is up to the PivotStrategy that was passed to the constructor. By 
+    // default, it is a random index. 
+    //
+    // This used to create a new java.util.Random object on every call. Since getPivot()
+    // is called once for every partitioning pass, that meant millions of objects for a
+    // large array, all of them seeded from one shared counter that threads had to 
+    // fight over. None of the strategies in PivotStrategy.java allocate anything.
+    private int getPivot(int[] array, int low, int high)
+    {
+        return pivotStrategy.selectPivot(array, low, high);
     }
 
 
     // THE swapElements() METHOD
     // 
     // This method takes an array/sub-array and two indices. It swaps the elements at 
-    // these indices. 
-    private void swapElements(int[] array, int index1, int index2)
+    // these indices. It is package-private, rather than private, only so that 
+    // CountingQuickSort_Integers can count the swaps.
+    void swapElements(int[] array, int index1, int index2)
     {
         // Optimization Check: If the indexes (currentIndex and nextSwapIndex) are the 
         // same, both indices are pointing to the same element. In this case, there is 
@@ -366,4 +1811,102 @@ public class QuickSort_Integers
             array[index2] = temp;
         }
     }
+
+
+    // THE countComparisons() METHOD
+    //
+    // Every partitioning pass reports how many element comparisons it made, ONCE, 
+    // after its loop is done. This class does nothing with the number: counting costs 
+    // time, and a shared counter written by every thread of a parallel sort would make
+    // the threads fight over it. CountingQuickSort_Integers overrides this method (and
+    // swapElements()) to keep count, for benchmarks such as PartitionBenchmark.java. 
+    // As long as that subclass is not in use, the JIT compiler sees that nothing 
+    // overrides these methods and removes the calls altogether.
+    void countComparisons(long comparisons)
+    {
+    }
+
+
+    // THE ParallelSortTask CLASS
+    //
+    // One task of parallelSortByAscendingOrder(): sort the elements between startIndex 
+    // and endIndex (inclusive). It is an inner class, so it can call the partitioning 
+    // methods of the QuickSort_Integers object that created it. scratch is the scratch
+    // array for ParallelPartition, or null if the sort does not use one. Tasks are never
+    // serialized, so RecursiveAction's serialVersionUID warning is suppressed.
+    @SuppressWarnings("serial")
+    private class ParallelSortTask extends RecursiveAction
+    {
+        private final int[] array;
+        private final int[] scratch;
+        private final int startIndex;
+        private final int endIndex;
+        private final int depthLimit;
+        private final PartitionScheme scheme;
+
+
+        // Constructor
+        ParallelSortTask(int[] array, int[] scratch, int startIndex, int endIndex, 
+                         int depthLimit, PartitionScheme scheme)
+        {
+            this.array = array;
+            this.scratch = scratch;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.depthLimit = depthLimit;
+            this.scheme = scheme;
+        }
+
+
+        @Override
+        protected void compute()
+        {
+            // Small partitions (and partitions whose pivots have been bad for too 
+            // long) are not worth splitting any further. Sort them on this thread.
+            if(endIndex - startIndex + 1 <= parallelGranularity || depthLimit == 0)
+            {
+                introSort(array, startIndex, endIndex, depthLimit, scheme, null, new int[BOUNDS_LENGTH]);
+                return;
+            }
+
+            int[] bounds = new int[BOUNDS_LENGTH];
+            boolean isDualPivot = false;
+
+            // Very large partitions are partitioned by all the threads together. This
+            // is always a three-way partition, whatever the scheme, so bounds[] holds 
+            // the block of elements equal to the pivot afterwards.
+            if(scratch != null && endIndex - startIndex + 1 >= PARALLEL_PARTITION_THRESHOLD)
+            {
+                int pivotValue = array[getPivot(array, startIndex, endIndex)];
+                ParallelPartition.partition(array, scratch, startIndex, endIndex, pivotValue, 
+                                            getPool().getParallelism(), bounds);
+            }
+            else
+            {
+                partitionRange(array, startIndex, endIndex, scheme, bounds);
+                isDualPivot = scheme == PartitionScheme.DUAL_PIVOT;
+            }
+
+            // Create one task per partition and run them all. invokeAll() forks all 
+            // but one of them, so other threads can steal them, runs the remaining one 
+            // on this thread, and then waits for the rest to finish.
+            ParallelSortTask leftTask = new ParallelSortTask(array, scratch, startIndex, 
+                    bounds[0] - 1, depthLimit - 1, scheme);
+            ParallelSortTask rightTask = new ParallelSortTask(array, scratch, bounds[1] + 1, 
+                    endIndex, depthLimit - 1, scheme);
+
+            // With dual-pivot partitioning there is a middle partition as well. It 
+            // can be skipped if both pivots are equal (see introSort()).
+            if(isDualPivot && array[bounds[0]] != array[bounds[1]])
+            {
+                ParallelSortTask middleTask = new ParallelSortTask(array, scratch, 
+                        bounds[0] + 1, bounds[1] - 1, depthLimit - 1, scheme);
+                invokeAll(leftTask, middleTask, rightTask);
+            }
+            else
+            {
+                invokeAll(leftTask, rightTask);
+            }
+        }
+    }
 }
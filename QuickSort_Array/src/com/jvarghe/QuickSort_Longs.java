@@ -0,0 +1,317 @@
+package com.jvarghe;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+
+// GENERATED FILE: DO NOT EDIT.
+//
+// This class was generated by QuickSortFamilyGenerator.java from
+// 'QuickSort_Primitive.template'. Make changes to the template and run the generator
+// again, so that every member of the family stays identical. Then compile, and run 
+// QuickSortFamilyVerifier.java to check the whole family against Arrays.sort().
+//
+// THE QuickSort_Longs CLASS
+//
+// A hardened Quick Sort (introsort), specialized for long[] arrays. Working on the
+// primitive array directly means no element ever has to be boxed into a Long object.
+//
+// THE INT SORT IS SEPARATE: There is no int member of this family. QuickSort_Integers
+// is written by hand, and is the test bed for the ideas in this package: it lets the
+// caller choose a PivotStrategy and a PartitionScheme (Lomuto, three-way, dual-pivot,
+// block and vector), and it finishes small sub-arrays with SortingNetworks. The
+// template only has ONE fixed configuration, the simplest of those that hold up on
+// any input: random pivots from ThreadLocalRandom, three-way partitioning, and
+// Insertion Sort for sub-arrays of up to INSERTION_SORT_THRESHOLD (16) elements. So
+// the two don't behave identically: they choose different pivots, and move elements
+// in a different order. Only the sorted result is the same. A change made to
+// QuickSort_Integers does NOT reach this family, and the other way around. Code that
+// needs an int sort with a PAYLOAD (see below), such as ArgSort_Integers, widens the
+// int keys to longs, and uses QuickSort_Longs.
+//
+// Every member of the family has these safeguards:
+//
+//     1. THREE-WAY PARTITIONING: Elements equal to the pivot are grouped together and
+//        skipped during recursion, so arrays with few distinct values sort quickly.
+//     2. DEPTH LIMIT: After 2 * log2(n) levels of partitioning, the rest of the sub-array
+//        is sorted with Heap Sort, which is O(n log n) in the worst case.
+//     3. SMALLER PARTITION FIRST: Only the smaller partition is recursed into, so the
+//        call stack is at most log2(n) frames deep.
+//     4. SMALL PARTITION CUTOFF: Sub-arrays of INSERTION_SORT_THRESHOLD elements or
+//        fewer are finished with Insertion Sort.
+//
+// Every comparison goes through compare(), which calls Long.compare(). For float
+// and double this is the IEEE 754 TOTAL ORDER rather than the < operator: -0.0 comes
+// before 0.0, and NaN comes after every other value (including positive infinity).
+// The < operator cannot sort those values, because every comparison with NaN is false
+// and -0.0 < 0.0 is false as well. Long.compare() takes primitive arguments, so
+// nothing is boxed.
+//
+// PAYLOAD: One overload of sortByAscendingOrder() also takes an int[] PAYLOAD, and 
+// makes every move in the payload that it makes in the array. Whatever payload[i] was
+// next to array[i] stays next to it, so with a payload of indices, the sort produces 
+// the sorted permutation at the same time (see ArgSort_Integers.java). The payload is
+// null when there isn't one; the JIT compiler hoists that null check out of the loops.
+public class QuickSort_Longs
+{
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+
+    // THE sortByAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order. Throws an exception for null or empty
+    // arrays, just like QuickSort_Integers.
+    public void sortByAscendingOrder(long[] array) throws IllegalArgumentException
+    {
+        // If it is a null array, throw an exception.
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        // If the array has zero elements, throw an exception.
+        else if(array.length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        introSort(array, null, 0, array.length - 1, depthLimit);
+    }
+
+
+    // This overload only sorts the elements from fromIndex (inclusive) to toIndex
+    // (exclusive), and leaves the rest of the array alone. An empty range is allowed,
+    // and does nothing.
+    public void sortByAscendingOrder(long[] array, int fromIndex, int toIndex)
+            throws IllegalArgumentException
+    {
+        validateRange(array, fromIndex, toIndex);
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(toIndex - fromIndex, 1)));
+        introSort(array, null, fromIndex, toIndex - 1, depthLimit);
+    }
+
+
+    // This overload sorts the same range, and moves the elements of the payload along 
+    // with the elements of the array (see PAYLOAD above). The payload must be as long 
+    // as the array. Its elements outside the range are left alone, just like the 
+    // array's.
+    public void sortByAscendingOrder(long[] array, int[] payload, int fromIndex, int toIndex)
+            throws IllegalArgumentException
+    {
+        validateRange(array, fromIndex, toIndex);
+        if(payload == null)
+        {
+            throw new IllegalArgumentException("The payload is null!");
+        }
+        if(payload.length != array.length)
+        {
+            throw new IllegalArgumentException("The payload must be as long as the array!");
+        }
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(toIndex - fromIndex, 1)));
+        introSort(array, payload, fromIndex, toIndex - 1, depthLimit);
+    }
+
+
+    // THE validateRange() METHOD
+    private static void validateRange(long[] array, int fromIndex, int toIndex) 
+            throws IllegalArgumentException
+    {
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        if(fromIndex < 0 || toIndex > array.length || fromIndex > toIndex)
+        {
+            throw new IllegalArgumentException("The range must lie inside the array, and fromIndex "
+                                               + "can't be greater than toIndex!");
+        }
+    }
+
+
+    // THE introSort() METHOD
+    //
+    // Partitions the sort space with a three-way partition, recurses into the smaller
+    // of the two outer partitions and loops on the larger one. The payload may be null.
+    private void introSort(long[] array, int[] payload, int startIndex, int endIndex, int depthLimit)
+    {
+        while(endIndex - startIndex + 1 > INSERTION_SORT_THRESHOLD)
+        {
+            if(depthLimit == 0)
+            {
+                heapSort(array, payload, startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            // THREE-WAY PARTITION (see QuickSort_Integers.partitionThreeWay()). When
+            // the loop ends, the elements between lessThanEnd and greaterThanStart
+            // (inclusive) are equal to the pivot.
+            int pivotIndex = ThreadLocalRandom.current().nextInt(startIndex, endIndex + 1);
+            long pivotValue = array[pivotIndex];
+
+            int lessThanEnd = startIndex;
+            int currentIndex = startIndex;
+            int greaterThanStart = endIndex;
+
+            while(currentIndex <= greaterThanStart)
+            {
+                int comparison = compare(array[currentIndex], pivotValue);
+
+                if(comparison < 0)
+                {
+                    swapElements(array, payload, lessThanEnd, currentIndex);
+                    lessThanEnd++;
+                    currentIndex++;
+                }
+                else if(comparison > 0)
+                {
+                    swapElements(array, payload, currentIndex, greaterThanStart);
+                    greaterThanStart--;
+                }
+                else
+                {
+                    currentIndex++;
+                }
+            }
+
+            if(lessThanEnd - startIndex < endIndex - greaterThanStart)
+            {
+                introSort(array, payload, startIndex, lessThanEnd - 1, depthLimit);
+                startIndex = greaterThanStart + 1;
+            }
+            else
+            {
+                introSort(array, payload, greaterThanStart + 1, endIndex, depthLimit);
+                endIndex = lessThanEnd - 1;
+            }
+        }
+
+        insertionSort(array, payload, startIndex, endIndex);
+    }
+
+
+    // THE insertionSort() METHOD
+    //
+    // Sorts the elements between startIndex and endIndex (inclusive), shifting larger
+    // elements to the right to make room for each new element.
+    private void insertionSort(long[] array, int[] payload, int startIndex, int endIndex)
+    {
+        for(int i = startIndex + 1; i <= endIndex; i++)
+        {
+            long element = array[i];
+            int carried = payload == null ? 0 : payload[i];
+            int j = i - 1;
+
+            while(j >= startIndex && compare(array[j], element) > 0)
+            {
+                array[j + 1] = array[j];
+                if(payload != null)
+                {
+                    payload[j + 1] = payload[j];
+                }
+                j--;
+            }
+
+            array[j + 1] = element;
+            if(payload != null)
+            {
+                payload[j + 1] = carried;
+            }
+        }
+    }
+
+
+    // THE heapSort() METHOD
+    //
+    // Sorts the elements between startIndex and endIndex (inclusive) with Heap Sort,
+    // treating the sub-array as a max-heap whose root is at startIndex.
+    private void heapSort(long[] array, int[] payload, int startIndex, int endIndex)
+    {
+        int size = endIndex - startIndex + 1;
+
+        for(int node = size / 2 - 1; node >= 0; node--)
+        {
+            siftDown(array, payload, startIndex, node, size);
+        }
+
+        for(int heapSize = size - 1; heapSize > 0; heapSize--)
+        {
+            swapElements(array, payload, startIndex, startIndex + heapSize);
+            siftDown(array, payload, startIndex, 0, heapSize);
+        }
+    }
+
+
+    // THE siftDown() METHOD
+    //
+    // Moves the element at offset 'node' down the heap until it is at least as large
+    // as both of its children.
+    private void siftDown(long[] array, int[] payload, int startIndex, int node, int heapSize)
+    {
+        long element = array[startIndex + node];
+        int carried = payload == null ? 0 : payload[startIndex + node];
+
+        while(true)
+        {
+            int child = 2 * node + 1;
+            if(child >= heapSize)
+            {
+                break;
+            }
+
+            if(child + 1 < heapSize
+               && compare(array[startIndex + child + 1], array[startIndex + child]) > 0)
+            {
+                child++;
+            }
+
+            if(compare(element, array[startIndex + child]) >= 0)
+            {
+                break;
+            }
+
+            array[startIndex + node] = array[startIndex + child];
+            if(payload != null)
+            {
+                payload[startIndex + node] = payload[startIndex + child];
+            }
+            node = child;
+        }
+
+        array[startIndex + node] = element;
+        if(payload != null)
+        {
+            payload[startIndex + node] = carried;
+        }
+    }
+
+
+    // THE compare() METHOD
+    //
+    // The one place where two elements are compared. Returns a negative number, zero
+    // or a positive number, like compareTo().
+    private static int compare(long value1, long value2)
+    {
+        return Long.compare(value1, value2);
+    }
+
+
+    // THE swapElements() METHOD
+    //
+    // Swaps two elements of the array, and the same two elements of the payload, if
+    // there is one.
+    private static void swapElements(long[] array, int[] payload, int index1, int index2)
+    {
+        long temp = array[index1];
+        array[index1] = array[index2];
+        array[index2] = temp;
+
+        if(payload != null)
+        {
+            int carried = payload[index1];
+            payload[index1] = payload[index2];
+            payload[index2] = carried;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.jvarghe;
+
+
+// THE RadixSort_Integers CLASS
+//
+// Quick Sort, like every sort that works by comparing elements, needs at least
+// O(n log n) comparisons. RADIX SORT does not compare elements at all. It looks at the
+// numbers one DIGIT at a time and uses each digit to drop the numbers into BUCKETS,
+// much like sorting a pile of letters by post code. It does a fixed number of passes
+// over the array, so it runs in O(n) time, which makes it much faster than Quick Sort
+// on very large arrays.
+//
+// This is an LSD (Least Significant Digit first) radix sort. It sorts the array by the
+// lowest digit first, then by the next one, and so on up to the highest digit. That
+// only works because each pass is STABLE: numbers with the same digit keep the order
+// that the previous passes gave them. After the last pass, the array is fully sorted.
+//
+// The "digits" here are not decimal digits but groups of DIGIT_BITS (11) bits, so each
+// pass has 2048 buckets and a 32-bit int needs three passes (11 + 11 + 10 bits). Each
+// pass works like this:
+//
+//     1. COUNT: Count how many numbers fall into each bucket (the HISTOGRAM). All the
+//        histograms are counted up front, in a single read of the array.
+//     2. PREFIX SUM: Turn the counts into starting positions. Bucket 0 starts at 0,
+//        bucket 1 starts right after the numbers in bucket 0, and so on.
+//     3. SCATTER: Copy every number, in order, to the next free position of its
+//        bucket, in a second (scratch) array.
+//
+// The passes copy the numbers back and forth between the array and a single scratch
+// array, which is allocated once per sort and reused by every pass.
+//
+// A few extra tricks:
+//
+//     SIGNED NUMBERS: Negative ints have their top bit set, so sorting them by their
+//         bits would put them AFTER the positive ones. Subtracting the smallest value
+//         in the array first fixes that: every number becomes an unsigned offset from
+//         the minimum, and those offsets sort in the right order.
+//     SKIPPING PASSES: If every number has the same digit in some position (for
+//         example, all the values fit in 16 bits, so the top digit is always zero),
+//         that pass would not move anything, so it is skipped.
+//     COUNTING SORT: If the values span a narrow range, for example, 0 to 999, there
+//         is no need for digits at all. We can count how often each value occurs and
+//         write the values back out in order, which is a single pass.
+public class RadixSort_Integers
+{
+    // The number of bits in each digit, and the number of buckets that gives.
+    private static final int DIGIT_BITS = 11;
+    private static final int BUCKET_COUNT = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = BUCKET_COUNT - 1;
+    private static final int DIGIT_COUNT = (Integer.SIZE + DIGIT_BITS - 1) / DIGIT_BITS;
+
+    // Counting sort is used when the range of values (max - min + 1) is no larger than
+    // half the size of the array, as long as the count array stays reasonably small.
+    private static final int COUNTING_SORT_MAX_RANGE = 1 << 24;
+
+
+    // THE sortByAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order with radix sort, or with counting sort if the
+    // range of values is narrow enough. The array is checked the same way as
+    // QuickSort_Integers does it.
+    public void sortByAscendingOrder(int[] array) throws IllegalArgumentException
+    {
+        // If it is a null array, throw an exception.
+        if(array == null)
+        {
+            throw new IllegalArgumentException("This is a null array! It can't be sorted.");
+        }
+        // If the array has zero elements, throw an exception.
+        else if(array.length == 0)
+        {
+            throw new IllegalArgumentException("The Array is Empty!");
+        }
+
+        // Find the smallest and largest values first.
+        int min = array[0];
+        int max = array[0];
+        for(int element : array)
+        {
+            min = Math.min(min, element);
+            max = Math.max(max, element);
+        }
+
+        // All the elements are equal, so the array is already sorted.
+        if(min == max)
+        {
+            return;
+        }
+
+        long range = (long) max - min + 1;
+        if(range <= array.length / 2 && range <= COUNTING_SORT_MAX_RANGE)
+        {
+            countingSort(array, min, (int) range);
+        }
+        else
+        {
+            radixSort(array, min);
+        }
+    }
+
+
+    // THE countingSort() METHOD
+    //
+    // Counts how many times each value between min and (min + range - 1) occurs, then
+    // overwrites the array with each value, in order, as many times as it was counted.
+    private void countingSort(int[] array, int min, int range)
+    {
+        int[] counts = new int[range];
+        for(int element : array)
+        {
+            counts[element - min]++;
+        }
+
+        int index = 0;
+        for(int offset = 0; offset < range; offset++)
+        {
+            int value = min + offset;
+            for(int count = counts[offset]; count > 0; count--)
+            {
+                array[index++] = value;
+            }
+        }
+    }
+
+
+    // THE radixSort() METHOD
+    //
+    // The LSD radix sort described at the top of this class. Every element is sorted
+    // by its offset from min, (element - min), which is treated as an unsigned number.
+    // That offset always fits in 32 bits, even if it overflows an int.
+    private void radixSort(int[] array, int min)
+    {
+        int size = array.length;
+
+        // STEP 1: COUNT every digit position in one read of the array. histograms[d]
+        // holds the bucket counts for digit d (digit 0 is the lowest).
+        int[][] histograms = new int[DIGIT_COUNT][BUCKET_COUNT];
+        for(int element : array)
+        {
+            int key = element - min;
+            for(int digit = 0; digit < DIGIT_COUNT; digit++)
+            {
+                histograms[digit][(key >>> (digit * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+
+        int[] source = array;
+        int[] destination = new int[size];
+
+        for(int digit = 0; digit < DIGIT_COUNT; digit++)
+        {
+            int shift = digit * DIGIT_BITS;
+            int[] histogram = histograms[digit];
+
+            // If all the elements have the same digit here, this pass would leave them
+            // exactly where they are. Skip it.
+            int firstKeyDigit = ((source[0] - min) >>> shift) & DIGIT_MASK;
+            if(histogram[firstKeyDigit] == size)
+            {
+                continue;
+            }
+
+            // STEP 2: PREFIX SUM. Turn each bucket count into the position where that
+            // bucket's elements start.
+            int position = 0;
+            for(int bucket = 0; bucket < BUCKET_COUNT; bucket++)
+            {
+                int count = histogram[bucket];
+                histogram[bucket] = position;
+                position += count;
+            }
+
+            // STEP 3: SCATTER. Going through the elements in order keeps the pass
+            // stable.
+            for(int i = 0; i < size; i++)
+            {
+                int element = source[i];
+                int bucket = ((element - min) >>> shift) & DIGIT_MASK;
+                destination[histogram[bucket]++] = element;
+            }
+
+            // The destination of this pass is the source of the next one.
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+
+        // After an odd number of passes, the sorted numbers are in the scratch array.
+        if(source != array)
+        {
+            System.arraycopy(source, 0, array, 0, size);
+        }
+    }
+}
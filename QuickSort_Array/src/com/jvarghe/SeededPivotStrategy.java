@@ -0,0 +1,53 @@
+package com.jvarghe;
+
+
+// THE SeededPivotStrategy CLASS
+//
+// A random pivot strategy whose random numbers are reproducible. It is created through
+// PivotStrategy.seeded(long seed).
+//
+// The random numbers come from SplitMix64, a tiny and fast pseudo-random number 
+// generator. Its entire state is a single long, which is advanced by a fixed constant
+// on every call and then scrambled. As the state is a plain field, nothing is 
+// allocated per call. The downside is that an instance is NOT thread-safe: give each 
+// thread its own instance (or use PivotStrategy.RANDOM) if several threads sort at 
+// once.
+final class SeededPivotStrategy implements PivotStrategy
+{
+    private long state;
+
+
+    // Constructor
+    SeededPivotStrategy(long seed)
+    {
+        this.state = seed;
+    }
+
+
+    @Override
+    public int selectPivot(int[] array, int low, int high)
+    {
+        // Turn a random 32-bit number into an index between low and high, inclusive.
+        // Multiplying it by the size of the sort space and keeping the top 32 bits of 
+        // the product gives a number between 0 and (size - 1), without the division 
+        // that the % operator would need.
+        long size = (long) high - low + 1;
+        long random = nextLong() >>> 32;
+
+        return low + (int) ((random * size) >>> 32);
+    }
+
+
+    // THE nextLong() METHOD
+    //
+    // The SplitMix64 generator. Returns the next 64-bit random number.
+    private long nextLong()
+    {
+        state += 0x9E3779B97F4A7C15L;
+
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jvarghe;
+
+
+// THE SortSelector_Integers CLASS
+//
+// Radix sort (RadixSort_Integers) and Quick Sort (QuickSort_Integers) are each the
+// better choice for different arrays. Radix sort does a fixed number of passes over
+// the array, no matter how large it is, so it wins on big arrays, especially when the
+// values fit in just a few digits. But each pass reads and writes the whole array, and
+// it needs a second array as large as the first. On small arrays, Quick Sort's
+// O(n log n) comparisons are cheaper than that.
+//
+// This class picks one of the two for each array. It looks at two things:
+//
+//     1. THE SIZE of the array. Arrays below RADIX_SORT_MIN_SIZE always go to Quick
+//        Sort.
+//     2. THE RANGE of the values. Reading the whole array just to find the smallest
+//        and largest values would cost as much as a radix pass, so only SAMPLE_SIZE
+//        evenly spaced elements are looked at. The narrower the range, the fewer
+//        digits the values have, and the fewer passes radix sort needs.
+//
+// Radix sort is chosen when the number of passes it would need is small compared with
+// the log2(n) levels of Quick Sort. Each radix pass costs roughly as much as
+// PASS_COST levels of Quick Sort, as a radix pass touches every element several times
+// (count, scatter and the cache misses that the scatter causes).
+public class SortSelector_Integers
+{
+    private static final int RADIX_SORT_MIN_SIZE = 1 << 12;
+    private static final int SAMPLE_SIZE = 256;
+    private static final int DIGIT_BITS = 11;
+    private static final int PASS_COST = 6;
+
+    private final QuickSort_Integers quickSort = new QuickSort_Integers();
+    private final RadixSort_Integers radixSort = new RadixSort_Integers();
+
+
+    // THE sortByAscendingOrder() METHOD
+    //
+    // Sorts the array in ascending order with whichever algorithm usesRadixSort()
+    // picks. Null and empty arrays are rejected by the chosen sort.
+    public void sortByAscendingOrder(int[] array) throws IllegalArgumentException
+    {
+        if(usesRadixSort(array))
+        {
+            radixSort.sortByAscendingOrder(array);
+        }
+        else
+        {
+            quickSort.introSortByAscendingOrder(array, PartitionScheme.BLOCK);
+        }
+    }
+
+
+    // THE usesRadixSort() METHOD
+    //
+    // Returns true if sortByAscendingOrder() would sort this array with radix sort,
+    // and false if it would use Quick Sort. It is public so that callers can see
+    // which way the decision goes for their data.
+    public boolean usesRadixSort(int[] array)
+    {
+        if(array == null || array.length < RADIX_SORT_MIN_SIZE)
+        {
+            return false;
+        }
+
+        // Sample SAMPLE_SIZE evenly spaced elements to estimate the range of values.
+        int step = array.length / SAMPLE_SIZE;
+        int min = array[0];
+        int max = array[0];
+        for(int i = 0; i < array.length; i += step)
+        {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+
+        // The number of bits the values need (as offsets from the minimum), and the
+        // number of radix passes that takes.
+        long range = (long) max - min;
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(range);
+        int passes = Math.max(1, (bits + DIGIT_BITS - 1) / DIGIT_BITS);
+
+        int log2Size = 31 - Integer.numberOfLeadingZeros(array.length);
+        return passes * PASS_COST <= log2Size;
+    }
+}
@@ -0,0 +1,275 @@
+package com.jvarghe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+
+// THE SortingNetworkGenerator CLASS
+//
+// This program writes SortingNetworks.java, which sorts 2 to 16 ints with SORTING
+// NETWORKS. A sorting network is a fixed list of COMPARATORS. Each comparator is a pair
+// of positions (i, j), with i < j, and it compares the two elements at those positions
+// and swaps them if they are in the wrong order. The list is the same no matter what the
+// input looks like, so unlike Insertion Sort, a sorting network never has to decide
+// what to do next. Every comparator is written as:
+//
+//     min = Math.min(a, b);
+//     max = Math.max(a, b);
+//
+// and the JIT compiler turns Math.min() and Math.max() into conditional moves rather
+// than branches. There is nothing for the CPU's branch predictor to guess wrong, which
+// is where Insertion Sort loses most of its time on random data.
+//
+// The networks below are the smallest ones known, taken from the published tables of
+// optimal and best known sorting networks. For 2 to 12 and 14 to 16 elements, none
+// with fewer comparators exist or are known. A few sizes are derived rather than listed:
+// removing the last wire of a network (and every comparator that touches it) leaves a
+// valid network for one element fewer, as if the removed element were larger than all
+// the others. 11 comes from 12, and 13, 14 and 15 come from 16. That gives 46
+// comparators for 13 elements, one more than the best known network.
+//
+// Before writing anything, every network is checked with the ZERO-ONE PRINCIPLE: a
+// network sorts every input if, and only if, it sorts every input made up of just 0s
+// and 1s. For n wires that is 2^n inputs (65536 for 16), so the check is exhaustive.
+// The generator refuses to write a network that fails it.
+//
+// Never edit SortingNetworks.java by hand; change the tables here and run this program
+// again. It takes the source directory as its only (optional) argument, just like
+// QuickSortFamilyGenerator.
+public class SortingNetworkGenerator
+{
+    private static final String DEFAULT_SOURCE_DIRECTORY = "QuickSort_Array/src/com/jvarghe";
+    private static final String OUTPUT_FILE = "SortingNetworks.java";
+    private static final int MAX_SIZE = 16;
+
+    // NETWORKS[n] is the network for n elements, as { i, j } comparator pairs. The
+    // sizes that are missing here are derived by removeLastWire().
+    private static final int[][][] NETWORKS = new int[MAX_SIZE + 1][][];
+
+    static
+    {
+        NETWORKS[2] = new int[][] { {0,1} };
+        NETWORKS[3] = new int[][] { {0,2}, {0,1}, {1,2} };
+        NETWORKS[4] = new int[][] { {0,2}, {1,3}, {0,1}, {2,3}, {1,2} };
+        NETWORKS[5] = new int[][] { {0,3}, {1,4}, {0,2}, {1,3}, {0,1}, {2,4}, {1,2}, {3,4},
+                                    {2,3} };
+        NETWORKS[6] = new int[][] { {0,5}, {1,3}, {2,4}, {1,2}, {3,4}, {0,3}, {2,5}, {0,1},
+                                    {2,3}, {4,5}, {1,2}, {3,4} };
+        NETWORKS[7] = new int[][] { {0,6}, {2,3}, {4,5}, {0,2}, {1,4}, {3,6}, {0,1}, {2,5},
+                                    {3,4}, {1,2}, {4,6}, {2,3}, {4,5}, {1,2}, {3,4}, {5,6} };
+        NETWORKS[8] = new int[][] { {0,2}, {1,3}, {4,6}, {5,7}, {0,4}, {1,5}, {2,6}, {3,7},
+                                    {0,1}, {2,3}, {4,5}, {6,7}, {2,4}, {3,5}, {1,4}, {3,6},
+                                    {1,2}, {3,4}, {5,6} };
+        NETWORKS[9] = new int[][] { {0,3}, {1,7}, {2,5}, {4,8}, {0,7}, {2,4}, {3,8}, {5,6},
+                                    {0,2}, {1,3}, {4,5}, {7,8}, {1,4}, {3,6}, {5,7}, {0,1},
+                                    {2,4}, {3,5}, {6,8}, {2,3}, {4,5}, {6,7}, {1,2}, {3,4},
+                                    {5,6} };
+        NETWORKS[10] = new int[][] { {0,8}, {1,9}, {2,7}, {3,5}, {4,6}, {0,2}, {1,4}, {5,8},
+                                     {7,9}, {0,3}, {2,4}, {5,7}, {6,9}, {0,1}, {3,6}, {8,9},
+                                     {1,5}, {2,3}, {4,8}, {6,7}, {1,2}, {3,5}, {4,6}, {7,8},
+                                     {2,3}, {4,5}, {6,7}, {3,4}, {5,6} };
+        NETWORKS[12] = new int[][] { {0,8}, {1,7}, {2,6}, {3,11}, {4,10}, {5,9}, {0,1}, {2,5},
+                                     {3,4}, {6,9}, {7,8}, {10,11}, {0,2}, {1,6}, {5,10}, {9,11},
+                                     {0,3}, {1,2}, {4,6}, {5,7}, {8,11}, {9,10}, {1,4}, {3,5},
+                                     {6,8}, {7,10}, {1,3}, {2,5}, {6,9}, {8,10}, {2,3}, {4,5},
+                                     {6,7}, {8,9}, {4,6}, {5,7}, {3,4}, {5,6}, {7,8} };
+        NETWORKS[16] = new int[][] { {0,13}, {1,12}, {2,15}, {3,14}, {4,8}, {5,6}, {7,11},
+                                     {9,10}, {0,5}, {1,7}, {2,9}, {3,4}, {6,13}, {8,14},
+                                     {10,15}, {11,12}, {0,1}, {2,3}, {4,5}, {6,8}, {7,9},
+                                     {10,11}, {12,13}, {14,15}, {0,2}, {1,3}, {4,10}, {5,11},
+                                     {6,7}, {8,9}, {12,14}, {13,15}, {1,2}, {3,12}, {4,6},
+                                     {5,7}, {8,10}, {9,11}, {13,14}, {1,4}, {2,6}, {5,8},
+                                     {7,10}, {9,13}, {11,14}, {2,4}, {3,6}, {9,12}, {11,13},
+                                     {3,5}, {6,8}, {7,9}, {10,12}, {3,4}, {5,6}, {7,8},
+                                     {9,10}, {11,12}, {6,7}, {8,9} };
+
+        NETWORKS[11] = removeLastWire(NETWORKS[12]);
+        NETWORKS[15] = removeLastWire(NETWORKS[16]);
+        NETWORKS[14] = removeLastWire(NETWORKS[15]);
+        NETWORKS[13] = removeLastWire(NETWORKS[14]);
+    }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        Path sourceDirectory = Paths.get(args.length > 0 ? args[0] : DEFAULT_SOURCE_DIRECTORY);
+
+        for(int size = 2; size <= MAX_SIZE; size++)
+        {
+            if(!sortsEveryInput(NETWORKS[size], size))
+            {
+                throw new IllegalStateException("The network for " + size + " elements does not sort!");
+            }
+        }
+
+        Path outputFile = sourceDirectory.resolve(OUTPUT_FILE);
+        Files.write(outputFile, generate().getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("Generated " + outputFile);
+    }
+
+
+    // THE removeLastWire() METHOD
+    //
+    // Returns the network for one element fewer: every comparator that touches the
+    // highest position is dropped.
+    private static int[][] removeLastWire(int[][] network)
+    {
+        int lastWire = 0;
+        for(int[] comparator : network)
+        {
+            lastWire = Math.max(lastWire, comparator[1]);
+        }
+
+        int count = 0;
+        for(int[] comparator : network)
+        {
+            if(comparator[1] != lastWire)
+            {
+                count++;
+            }
+        }
+
+        int[][] smaller = new int[count][];
+        int next = 0;
+        for(int[] comparator : network)
+        {
+            if(comparator[1] != lastWire)
+            {
+                smaller[next++] = comparator;
+            }
+        }
+
+        return smaller;
+    }
+
+
+    // THE sortsEveryInput() METHOD
+    //
+    // Checks the network with the zero-one principle. Each input is the bits of 'input',
+    // one bit per position, and the network is run on those bits directly: a comparator
+    // only has to swap when the lower position holds a 1 and the higher one holds a 0.
+    // The result is sorted if all the 0s come before all the 1s.
+    private static boolean sortsEveryInput(int[][] network, int size)
+    {
+        for(int input = 0; input < (1 << size); input++)
+        {
+            int bits = input;
+            for(int[] comparator : network)
+            {
+                int low = (bits >>> comparator[0]) & 1;
+                int high = (bits >>> comparator[1]) & 1;
+                if(low == 1 && high == 0)
+                {
+                    bits ^= (1 << comparator[0]) | (1 << comparator[1]);
+                }
+            }
+
+            // Sorted means the bits look like 0...01...1, read from the lowest position
+            // up: a block of 1s that reaches the top. Adding its lowest 1 bit to it then
+            // carries all the way out of the 'size' bits.
+            int sorted = bits + (bits & -bits);
+            if((sorted & ((1 << size) - 1)) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    // THE generate() METHOD
+    //
+    // Returns the source code of SortingNetworks.java.
+    private static String generate()
+    {
+        StringBuilder source = new StringBuilder();
+
+        source.append("package com.jvarghe;\n")
+              .append("\n\n")
+              .append("// GENERATED FILE: DO NOT EDIT.\n")
+              .append("//\n")
+              .append("// This class was generated by SortingNetworkGenerator.java, which also explains\n")
+              .append("// where the networks come from and how they were checked.\n")
+              .append("//\n")
+              .append("// THE SortingNetworks CLASS\n")
+              .append("//\n")
+              .append("// Sorts 2 to MAX_SIZE ints with branch-free sorting networks. Each sortN() method\n")
+              .append("// loads its N elements into local variables, runs the network's comparators on\n")
+              .append("// them, and writes them back.\n")
+              .append("final class SortingNetworks\n")
+              .append("{\n")
+              .append("    static final int MAX_SIZE = ").append(MAX_SIZE).append(";\n")
+              .append("\n\n")
+              .append("    // This class only has static methods.\n")
+              .append("    private SortingNetworks() { }\n")
+              .append("\n\n")
+              .append("    // THE sort() METHOD\n")
+              .append("    //\n")
+              .append("    // Sorts the elements from fromIndex (inclusive) to toIndex (exclusive). The range\n")
+              .append("    // can hold at most MAX_SIZE elements.\n")
+              .append("    static void sort(int[] array, int fromIndex, int toIndex)\n")
+              .append("    {\n")
+              .append("        switch(toIndex - fromIndex)\n")
+              .append("        {\n")
+              .append("            case 0:\n")
+              .append("            case 1:\n")
+              .append("                break;\n");
+
+        for(int size = 2; size <= MAX_SIZE; size++)
+        {
+            source.append("            case ").append(size).append(":\n")
+                  .append("                sort").append(size).append("(array, fromIndex);\n")
+                  .append("                break;\n");
+        }
+
+        source.append("            default:\n")
+              .append("                throw new IllegalArgumentException(\"A sorting network can't sort more than \"\n")
+              .append("                                                   + MAX_SIZE + \" elements!\");\n")
+              .append("        }\n")
+              .append("    }\n");
+
+        for(int size = 2; size <= MAX_SIZE; size++)
+        {
+            int[][] network = NETWORKS[size];
+
+            source.append("\n\n")
+                  .append("    // ").append(size).append(" elements, ").append(network.length)
+                  .append(network.length == 1 ? " comparator.\n" : " comparators.\n")
+                  .append("    private static void sort").append(size).append("(int[] array, int i)\n")
+                  .append("    {\n");
+
+            for(int wire = 0; wire < size; wire++)
+            {
+                source.append("        int v").append(wire).append(" = array[")
+                      .append(wire == 0 ? "i" : "i + " + wire).append("];\n");
+            }
+            source.append("        int min;\n")
+                  .append("\n");
+
+            for(int[] comparator : network)
+            {
+                String low = "v" + comparator[0];
+                String high = "v" + comparator[1];
+                source.append("        min = Math.min(").append(low).append(", ").append(high).append("); ")
+                      .append(high).append(" = Math.max(").append(low).append(", ").append(high).append("); ")
+                      .append(low).append(" = min;\n");
+            }
+
+            source.append("\n");
+            for(int wire = 0; wire < size; wire++)
+            {
+                source.append("        array[").append(wire == 0 ? "i" : "i + " + wire).append("] = v")
+                      .append(wire).append(";\n");
+            }
+            source.append("    }\n");
+        }
+
+        source.append("}\n");
+        return source.toString();
+    }
+}
@@ -0,0 +1,895 @@
+package com.jvarghe;
+
+
+// GENERATED FILE: DO NOT EDIT.
+//
+// This class was generated by SortingNetworkGenerator.java, which also explains
+// where the networks come from and how they were checked.
+//
+// THE SortingNetworks CLASS
+//
+// Sorts 2 to MAX_SIZE ints with branch-free sorting networks. Each sortN() method
+// loads its N elements into local variables, runs the network's comparators on
+// them, and writes them back.
+final class SortingNetworks
+{
+    static final int MAX_SIZE = 16;
+
+
+    // This class only has static methods.
+    private SortingNetworks() { }
+
+
+    // THE sort() METHOD
+    //
+    // Sorts the elements from fromIndex (inclusive) to toIndex (exclusive). The range
+    // can hold at most MAX_SIZE elements.
+    static void sort(int[] array, int fromIndex, int toIndex)
+    {
+        switch(toIndex - fromIndex)
+        {
+            case 0:
+            case 1:
+                break;
+            case 2:
+                sort2(array, fromIndex);
+                break;
+            case 3:
+                sort3(array, fromIndex);
+                break;
+            case 4:
+                sort4(array, fromIndex);
+                break;
+            case 5:
+                sort5(array, fromIndex);
+                break;
+            case 6:
+                sort6(array, fromIndex);
+                break;
+            case 7:
+                sort7(array, fromIndex);
+                break;
+            case 8:
+                sort8(array, fromIndex);
+                break;
+            case 9:
+                sort9(array, fromIndex);
+                break;
+            case 10:
+                sort10(array, fromIndex);
+                break;
+            case 11:
+                sort11(array, fromIndex);
+                break;
+            case 12:
+                sort12(array, fromIndex);
+                break;
+            case 13:
+                sort13(array, fromIndex);
+                break;
+            case 14:
+                sort14(array, fromIndex);
+                break;
+            case 15:
+                sort15(array, fromIndex);
+                break;
+            case 16:
+                sort16(array, fromIndex);
+                break;
+            default:
+                throw new IllegalArgumentException("A sorting network can't sort more than "
+                                                   + MAX_SIZE + " elements!");
+        }
+    }
+
+
+    // 2 elements, 1 comparator.
+    private static void sort2(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int min;
+
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+    }
+
+
+    // 3 elements, 3 comparators.
+    private static void sort3(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int min;
+
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+    }
+
+
+    // 4 elements, 5 comparators.
+    private static void sort4(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int min;
+
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+    }
+
+
+    // 5 elements, 9 comparators.
+    private static void sort5(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int min;
+
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+    }
+
+
+    // 6 elements, 12 comparators.
+    private static void sort6(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int min;
+
+        min = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+    }
+
+
+    // 7 elements, 16 comparators.
+    private static void sort7(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int min;
+
+        min = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+    }
+
+
+    // 8 elements, 19 comparators.
+    private static void sort8(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int min;
+
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = min;
+        min = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+    }
+
+
+    // 9 elements, 25 comparators.
+    private static void sort9(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int min;
+
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v0, v7); v7 = Math.max(v0, v7); v0 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v8); v8 = Math.max(v3, v8); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+    }
+
+
+    // 10 elements, 29 comparators.
+    private static void sort10(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int min;
+
+        min = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = min;
+        min = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = min;
+        min = Math.min(v2, v7); v7 = Math.max(v2, v7); v2 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+    }
+
+
+    // 11 elements, 35 comparators.
+    private static void sort11(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int min;
+
+        min = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v6); v6 = Math.max(v1, v6); v1 = min;
+        min = Math.min(v5, v10); v10 = Math.max(v5, v10); v5 = min;
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+    }
+
+
+    // 12 elements, 39 comparators.
+    private static void sort12(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int v11 = array[i + 11];
+        int min;
+
+        min = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v6); v6 = Math.max(v1, v6); v1 = min;
+        min = Math.min(v5, v10); v10 = Math.max(v5, v10); v5 = min;
+        min = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = min;
+        min = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v8, v11); v11 = Math.max(v8, v11); v8 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = min;
+        min = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+        array[i + 11] = v11;
+    }
+
+
+    // 13 elements, 46 comparators.
+    private static void sort13(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int v11 = array[i + 11];
+        int v12 = array[i + 12];
+        int min;
+
+        min = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+        array[i + 11] = v11;
+        array[i + 12] = v12;
+    }
+
+
+    // 14 elements, 51 comparators.
+    private static void sort14(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int v11 = array[i + 11];
+        int v12 = array[i + 12];
+        int v13 = array[i + 13];
+        int min;
+
+        min = Math.min(v0, v13); v13 = Math.max(v0, v13); v0 = min;
+        min = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v6, v13); v13 = Math.max(v6, v13); v6 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = min;
+        min = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = min;
+        min = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+        array[i + 11] = v11;
+        array[i + 12] = v12;
+        array[i + 13] = v13;
+    }
+
+
+    // 15 elements, 56 comparators.
+    private static void sort15(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int v11 = array[i + 11];
+        int v12 = array[i + 12];
+        int v13 = array[i + 13];
+        int v14 = array[i + 14];
+        int min;
+
+        min = Math.min(v0, v13); v13 = Math.max(v0, v13); v0 = min;
+        min = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = min;
+        min = Math.min(v3, v14); v14 = Math.max(v3, v14); v3 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v6, v13); v13 = Math.max(v6, v13); v6 = min;
+        min = Math.min(v8, v14); v14 = Math.max(v8, v14); v8 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = min;
+        min = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = min;
+        min = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = min;
+        min = Math.min(v11, v14); v14 = Math.max(v11, v14); v11 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = min;
+        min = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+        array[i + 11] = v11;
+        array[i + 12] = v12;
+        array[i + 13] = v13;
+        array[i + 14] = v14;
+    }
+
+
+    // 16 elements, 60 comparators.
+    private static void sort16(int[] array, int i)
+    {
+        int v0 = array[i];
+        int v1 = array[i + 1];
+        int v2 = array[i + 2];
+        int v3 = array[i + 3];
+        int v4 = array[i + 4];
+        int v5 = array[i + 5];
+        int v6 = array[i + 6];
+        int v7 = array[i + 7];
+        int v8 = array[i + 8];
+        int v9 = array[i + 9];
+        int v10 = array[i + 10];
+        int v11 = array[i + 11];
+        int v12 = array[i + 12];
+        int v13 = array[i + 13];
+        int v14 = array[i + 14];
+        int v15 = array[i + 15];
+        int min;
+
+        min = Math.min(v0, v13); v13 = Math.max(v0, v13); v0 = min;
+        min = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = min;
+        min = Math.min(v2, v15); v15 = Math.max(v2, v15); v2 = min;
+        min = Math.min(v3, v14); v14 = Math.max(v3, v14); v3 = min;
+        min = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = min;
+        min = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = min;
+        min = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v6, v13); v13 = Math.max(v6, v13); v6 = min;
+        min = Math.min(v8, v14); v14 = Math.max(v8, v14); v8 = min;
+        min = Math.min(v10, v15); v15 = Math.max(v10, v15); v10 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = min;
+        min = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = min;
+        min = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = min;
+        min = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = min;
+        min = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = min;
+        min = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = min;
+        min = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = min;
+        min = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = min;
+        min = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+        min = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = min;
+        min = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = min;
+        min = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = min;
+        min = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = min;
+        min = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = min;
+        min = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = min;
+        min = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = min;
+        min = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = min;
+        min = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = min;
+        min = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = min;
+        min = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = min;
+        min = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = min;
+        min = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = min;
+        min = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = min;
+        min = Math.min(v11, v14); v14 = Math.max(v11, v14); v11 = min;
+        min = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = min;
+        min = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = min;
+        min = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = min;
+        min = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = min;
+        min = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = min;
+        min = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = min;
+        min = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = min;
+        min = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = min;
+        min = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = min;
+        min = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = min;
+        min = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = min;
+        min = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = min;
+        min = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = min;
+        min = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = min;
+        min = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = min;
+
+        array[i] = v0;
+        array[i + 1] = v1;
+        array[i + 2] = v2;
+        array[i + 3] = v3;
+        array[i + 4] = v4;
+        array[i + 5] = v5;
+        array[i + 6] = v6;
+        array[i + 7] = v7;
+        array[i + 8] = v8;
+        array[i + 9] = v9;
+        array[i + 10] = v10;
+        array[i + 11] = v11;
+        array[i + 12] = v12;
+        array[i + 13] = v13;
+        array[i + 14] = v14;
+        array[i + 15] = v15;
+    }
+}
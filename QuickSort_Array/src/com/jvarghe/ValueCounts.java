@@ -0,0 +1,40 @@
+package com.jvarghe;
+
+
+// THE ValueCounts CLASS
+//
+// The result of QuickSort_Integers.sortAndCount(): the distinct values of an array, in
+// ascending order, and how often each of them occurred. The two arrays are PARALLEL:
+// getCounts()[i] is the number of times getValues()[i] occurred.
+public final class ValueCounts
+{
+    private final int[] values;
+    private final int[] counts;
+
+
+    ValueCounts(int[] values, int[] counts)
+    {
+        this.values = values;
+        this.counts = counts;
+    }
+
+
+    // The number of distinct values.
+    public int size()
+    {
+        return values.length;
+    }
+
+
+    // The arrays are returned as they are, without copying, so the caller owns them.
+    public int[] getValues()
+    {
+        return values;
+    }
+
+
+    public int[] getCounts()
+    {
+        return counts;
+    }
+}